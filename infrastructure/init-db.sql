@@ -1,6 +1,34 @@
 -- Enable PostGIS extension
 CREATE EXTENSION IF NOT EXISTS postgis;
 
+-- Orders table (validated, not generated, by the order service)
+CREATE TABLE IF NOT EXISTS orders (
+    id                       UUID PRIMARY KEY,
+    customer_id              UUID NOT NULL,
+    restaurant_id            UUID NOT NULL,
+    delivery_location        geometry(Point, 4326) NOT NULL,
+    status                   VARCHAR(255) NOT NULL,
+    preparation_time_minutes INTEGER NOT NULL,
+    assigned_executive_id    UUID,
+    batch_id                 INTEGER,
+    created_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    assigned_at              TIMESTAMP(6) WITH TIME ZONE,
+    picked_up_at             TIMESTAMP(6) WITH TIME ZONE,
+    delivered_at             TIMESTAMP(6) WITH TIME ZONE,
+    version                  BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_status ON orders (status);
+CREATE INDEX IF NOT EXISTS idx_order_created_at ON orders (created_at);
+CREATE INDEX IF NOT EXISTS idx_order_executive ON orders (assigned_executive_id);
+
 -- Create spatial indexes
--- These will be created by JPA/Hibernate but can be added manually if needed
+CREATE INDEX IF NOT EXISTS idx_order_delivery_location ON orders USING GIST (delivery_location);
 
+-- Batch formation: pending orders near a point (radius in meters), then oldest first with keyset paging
+CREATE INDEX IF NOT EXISTS idx_order_pending_location
+    ON orders USING GIST ((delivery_location::geography))
+    WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_order_pending_age
+    ON orders (created_at, id)
+    WHERE status = 'PENDING';
@@ -3,8 +3,14 @@ package com.delivery.order.controller;
 import com.delivery.order.domain.Order;
 import com.delivery.order.dto.AssignBatchRequest;
 import com.delivery.order.dto.AssignBatchResponse;
+import com.delivery.order.dto.BulkCreateOrderRequest;
+import com.delivery.order.dto.BulkOrderResult;
 import com.delivery.order.dto.CreateOrderRequest;
+import com.delivery.order.dto.PendingOrderPage;
+import com.delivery.order.service.BulkOrderService;
 import com.delivery.order.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +18,17 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,7 +37,9 @@ import java.util.UUID;
 @Slf4j
 public class OrderController {
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
     private final GeometryFactory geometryFactory;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -46,6 +62,23 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkOrderResult>> createOrders(@Valid @RequestBody BulkCreateOrderRequest request) {
+        log.info("Creating {} orders in bulk", request.getOrders().size());
+        return ResponseEntity.ok(bulkOrderService.createOrders(request.getOrders()));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void ingestOrders(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+
+        int count = bulkOrderService.ingest(body, result -> write(output, result));
+        output.flush();
+        log.info("Ingested {} orders from stream", count);
+    }
+
     @PostMapping("/assign-batch")
     public ResponseEntity<AssignBatchResponse> assignBatch(@Valid @RequestBody AssignBatchRequest request) {
         log.info("Assigning batch {} to executive: {}", request.getBatchId(), request.getExecutiveId());
@@ -62,11 +95,32 @@ public class OrderController {
         ));
     }
 
+    @GetMapping("/pending/nearby")
+    public ResponseEntity<PendingOrderPage> findPendingNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam double radiusKm,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Instant createdAfter,
+            @RequestParam(required = false) UUID idAfter
+    ) {
+        log.debug("Finding pending orders within {} km of ({}, {})", radiusKm, latitude, longitude);
+        return ResponseEntity.ok(orderService.findPendingNearby(
+                latitude, longitude, radiusKm, limit, createdAfter, idAfter));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrder(@PathVariable UUID id) {
         log.debug("Fetching order: {}", id);
         Order order = orderService.getOrderById(id);
         return ResponseEntity.ok(order);
     }
-}
 
+    private void write(OutputStream output, BulkOrderResult result) {
+        try {
+            output.write(objectMapper.writeValueAsString(result).concat("\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bulk order result", e);
+        }
+    }
+}
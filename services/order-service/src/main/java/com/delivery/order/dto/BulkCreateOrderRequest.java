@@ -0,0 +1,20 @@
+package com.delivery.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrderRequest {
+    public static final int MAX_ORDERS = 10000;
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = MAX_ORDERS, message = "Bulk request cannot contain more than " + MAX_ORDERS + " orders")
+    private List<CreateOrderRequest> orders;
+}
@@ -0,0 +1,34 @@
+package com.delivery.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResult {
+    private int index;
+    private UUID orderId;
+    private String error;
+
+    public static BulkOrderResult success(int index, UUID orderId) {
+        return BulkOrderResult.builder()
+                .index(index)
+                .orderId(orderId)
+                .build();
+    }
+
+    public static BulkOrderResult failure(int index, String error) {
+        return BulkOrderResult.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.delivery.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PendingOrderPage {
+    private List<PendingOrderView> orders;
+    private Instant nextCreatedAfter;
+    private UUID nextIdAfter;
+}
@@ -0,0 +1,24 @@
+package com.delivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingOrderView {
+    private UUID id;
+    private UUID customerId;
+    private UUID restaurantId;
+    private double latitude;
+    private double longitude;
+    private int preparationTimeMinutes;
+    private Instant createdAt;
+    private double distanceKm;
+}
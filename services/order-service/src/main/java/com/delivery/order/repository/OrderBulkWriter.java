@@ -0,0 +1,109 @@
+package com.delivery.order.repository;
+
+import com.delivery.order.domain.Order;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public class OrderBulkWriter {
+    private static final String COPY_SQL = "COPY orders (id, customer_id, restaurant_id, delivery_location, "
+            + "status, preparation_time_minutes, created_at, version) FROM STDIN";
+    private static final String INSERT_SQL = "INSERT INTO orders (id, customer_id, restaurant_id, delivery_location, "
+            + "status, preparation_time_minutes, created_at, version) "
+            + "VALUES (?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), ?, ?, ?, ?)";
+    private static final int COPY_ROW_CHARS = 192;
+
+    public enum WriteMode {
+        COPY,
+        BATCH
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final WriteMode writeMode;
+    private final int batchSize;
+
+    public OrderBulkWriter(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            @Value("${order.bulk.write-mode:COPY}") WriteMode writeMode,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:20}") int batchSize
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeMode = writeMode;
+        this.batchSize = batchSize;
+    }
+
+    public void insert(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        if (writeMode == WriteMode.COPY) {
+            copy(orders);
+        } else {
+            batchInsert(orders);
+        }
+    }
+
+    private void copy(List<Order> orders) {
+        StringBuilder rows = new StringBuilder(orders.size() * COPY_ROW_CHARS);
+        for (Order order : orders) {
+            appendCopyRow(rows, order);
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(rows.toString()));
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY orders", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to stream orders to COPY", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void batchInsert(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders, batchSize, (statement, order) -> {
+            statement.setObject(1, order.getId());
+            statement.setObject(2, order.getCustomerId());
+            statement.setObject(3, order.getRestaurantId());
+            statement.setDouble(4, order.getDeliveryLocation().getX());
+            statement.setDouble(5, order.getDeliveryLocation().getY());
+            statement.setString(6, order.getStatus().name());
+            statement.setInt(7, order.getPreparationTimeMinutes());
+            statement.setTimestamp(8, Timestamp.from(order.getCreatedAt()));
+            statement.setLong(9, order.getVersion());
+        });
+    }
+
+    private static void appendCopyRow(StringBuilder rows, Order order) {
+        rows.append(order.getId()).append('\t')
+                .append(order.getCustomerId()).append('\t')
+                .append(order.getRestaurantId()).append('\t')
+                .append("SRID=").append(order.getDeliveryLocation().getSRID())
+                .append(";POINT(").append(plain(order.getDeliveryLocation().getX()))
+                .append(' ').append(plain(order.getDeliveryLocation().getY())).append(")\t")
+                .append(order.getStatus().name()).append('\t')
+                .append(order.getPreparationTimeMinutes()).append('\t')
+                .append(order.getCreatedAt()).append('\t')
+                .append(order.getVersion()).append('\n');
+    }
+
+    private static String plain(double coordinate) {
+        return BigDecimal.valueOf(coordinate).toPlainString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.delivery.order.repository;
+
+import com.delivery.common.domain.Location;
+import com.delivery.order.dto.PendingOrderView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class PendingOrderFinder {
+    private static final String WITHIN_RADIUS_SQL = """
+            SELECT o.id, o.customer_id, o.restaurant_id,
+                   ST_Y(o.delivery_location) AS latitude, ST_X(o.delivery_location) AS longitude,
+                   o.preparation_time_minutes, o.created_at,
+                   ST_Distance(o.delivery_location::geography, c.center) AS distance_meters
+            FROM orders o, (SELECT ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography AS center) c
+            WHERE o.status = 'PENDING'
+              AND ST_DWithin(o.delivery_location::geography, c.center, ?)
+              AND (o.created_at, o.id) > (?, ?)
+            ORDER BY o.created_at, o.id
+            LIMIT ?
+            """;
+    private static final double METERS_PER_KM = 1000.0;
+
+    private static final RowMapper<PendingOrderView> ROW_MAPPER = (rs, rowNum) -> PendingOrderView.builder()
+            .id(rs.getObject("id", UUID.class))
+            .customerId(rs.getObject("customer_id", UUID.class))
+            .restaurantId(rs.getObject("restaurant_id", UUID.class))
+            .latitude(rs.getDouble("latitude"))
+            .longitude(rs.getDouble("longitude"))
+            .preparationTimeMinutes(rs.getInt("preparation_time_minutes"))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+            .distanceKm(rs.getDouble("distance_meters") / METERS_PER_KM)
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<PendingOrderView> findWithinRadius(
+            Location center,
+            double radiusKm,
+            Instant createdAfter,
+            UUID idAfter,
+            int limit
+    ) {
+        return jdbcTemplate.query(WITHIN_RADIUS_SQL, ROW_MAPPER,
+                center.longitude(),
+                center.latitude(),
+                radiusKm * METERS_PER_KM,
+                createdAfter.atOffset(ZoneOffset.UTC),
+                idAfter,
+                limit);
+    }
+}
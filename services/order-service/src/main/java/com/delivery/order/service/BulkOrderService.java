@@ -0,0 +1,200 @@
+package com.delivery.order.service;
+
+import com.delivery.common.domain.OrderStatus;
+import com.delivery.order.domain.Order;
+import com.delivery.order.dto.BulkOrderResult;
+import com.delivery.order.dto.CreateOrderRequest;
+import com.delivery.order.repository.OrderBulkWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BulkOrderService {
+    private final OrderBulkWriter orderBulkWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final GeometryFactory geometryFactory;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BulkOrderService(
+            OrderBulkWriter orderBulkWriter,
+            TransactionTemplate transactionTemplate,
+            GeometryFactory geometryFactory,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${order.bulk.chunk-size:1000}") int chunkSize
+    ) {
+        this.orderBulkWriter = orderBulkWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.geometryFactory = geometryFactory;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<BulkOrderResult> createOrders(List<CreateOrderRequest> requests) {
+        List<BulkOrderResult> results = new ArrayList<>(requests.size());
+        Chunk chunk = new Chunk(chunkSize);
+        for (int index = 0; index < requests.size(); index++) {
+            accept(chunk, index, requests.get(index), results::add);
+        }
+        flush(chunk, results::add);
+        results.sort(Comparator.comparingInt(BulkOrderResult::getIndex));
+        return results;
+    }
+
+    public int ingest(InputStream ndjson, Consumer<BulkOrderResult> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        Chunk chunk = new Chunk(chunkSize);
+        int index = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(chunk, index, objectMapper.readValue(line, CreateOrderRequest.class), sink);
+            } catch (JsonProcessingException e) {
+                sink.accept(BulkOrderResult.failure(index, "Malformed order: " + e.getOriginalMessage()));
+            }
+            index++;
+        }
+        flush(chunk, sink);
+        return index;
+    }
+
+    private void accept(Chunk chunk, int index, CreateOrderRequest request, Consumer<BulkOrderResult> sink) {
+        String error = validate(request);
+        if (error != null) {
+            sink.accept(BulkOrderResult.failure(index, error));
+            return;
+        }
+
+        chunk.add(index, toOrder(request));
+        if (chunk.isFull()) {
+            flush(chunk, sink);
+        }
+    }
+
+    private void flush(Chunk chunk, Consumer<BulkOrderResult> sink) {
+        if (chunk.orders.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int stored = store(chunk.indexes, chunk.orders, sink);
+        log.info("Inserted {} of {} orders in {} ms",
+                stored, chunk.orders.size(), (System.nanoTime() - start) / 1_000_000);
+        chunk.clear();
+    }
+
+    private int store(List<Integer> indexes, List<Order> orders, Consumer<BulkOrderResult> sink) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderBulkWriter.insert(orders));
+        } catch (DataIntegrityViolationException e) {
+            if (orders.size() > 1) {
+                int middle = orders.size() / 2;
+                return store(indexes.subList(0, middle), orders.subList(0, middle), sink)
+                        + store(indexes.subList(middle, orders.size()), orders.subList(middle, orders.size()), sink);
+            }
+            log.warn("Rejected order at index {}: {}", indexes.get(0), e.getMostSpecificCause().getMessage());
+            fail(indexes, "Failed to store order: " + e.getMostSpecificCause().getMessage(), sink);
+            return 0;
+        } catch (DataAccessException e) {
+            log.error("Failed to insert chunk of {} orders", orders.size(), e);
+            fail(indexes, "Failed to store order: " + e.getMostSpecificCause().getMessage(), sink);
+            return 0;
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            sink.accept(BulkOrderResult.success(indexes.get(i), orders.get(i).getId()));
+        }
+        return orders.size();
+    }
+
+    private void fail(List<Integer> indexes, String error, Consumer<BulkOrderResult> sink) {
+        indexes.forEach(index -> sink.accept(BulkOrderResult.failure(index, error)));
+    }
+
+    private String validate(CreateOrderRequest request) {
+        if (request == null) {
+            return "Order cannot be null";
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private Order toOrder(CreateOrderRequest request) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .customerId(request.getCustomerId())
+                .restaurantId(request.getRestaurantId())
+                .deliveryLocation(geometryFactory.createPoint(new Coordinate(
+                        request.getDeliveryLocation().getLongitude(),
+                        request.getDeliveryLocation().getLatitude())))
+                .preparationTimeMinutes(request.getPreparationTimeMinutes())
+                .status(OrderStatus.PENDING)
+                .createdAt(Instant.now())
+                .version(0L)
+                .build();
+    }
+
+    private static final class Chunk {
+        private final int capacity;
+        private final List<Integer> indexes;
+        private final List<Order> orders;
+
+        private Chunk(int capacity) {
+            this.capacity = capacity;
+            this.indexes = new ArrayList<>(capacity);
+            this.orders = new ArrayList<>(capacity);
+        }
+
+        private void add(int index, Order order) {
+            indexes.add(index);
+            orders.add(order);
+        }
+
+        private boolean isFull() {
+            return orders.size() >= capacity;
+        }
+
+        private void clear() {
+            indexes.clear();
+            orders.clear();
+        }
+    }
+}
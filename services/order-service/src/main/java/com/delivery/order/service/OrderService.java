@@ -1,12 +1,17 @@
 package com.delivery.order.service;
 
+import com.delivery.common.domain.Location;
 import com.delivery.common.domain.OrderStatus;
 import com.delivery.order.domain.Order;
+import com.delivery.order.dto.PendingOrderPage;
+import com.delivery.order.dto.PendingOrderView;
 import com.delivery.order.exception.InvalidOrderException;
 import com.delivery.order.exception.OrderNotFoundException;
 import com.delivery.order.repository.OrderRepository;
+import com.delivery.order.repository.PendingOrderFinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +23,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
     private final OrderRepository orderRepository;
+    private final PendingOrderFinder pendingOrderFinder;
+
+    @Value("${order.spatial.max-radius-km:25}")
+    private double maxRadiusKm;
+
+    @Value("${order.spatial.max-page-size:500}")
+    private int maxPageSize;
 
     @Transactional
     public Order createOrder(Order order) {
@@ -72,6 +86,54 @@ public class OrderService {
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
+    @Transactional(readOnly = true)
+    public PendingOrderPage findPendingNearby(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            int limit,
+            Instant createdAfter,
+            UUID idAfter
+    ) {
+        Location center = centerOf(latitude, longitude);
+        validateNearbyQuery(radiusKm, limit);
+        if ((createdAfter == null) != (idAfter == null)) {
+            throw new InvalidOrderException("createdAfter and idAfter must be given together");
+        }
+
+        List<PendingOrderView> orders = pendingOrderFinder.findWithinRadius(
+                center,
+                radiusKm,
+                createdAfter != null ? createdAfter : Instant.EPOCH,
+                idAfter != null ? idAfter : MIN_ID,
+                limit + 1
+        );
+
+        if (orders.size() <= limit) {
+            return new PendingOrderPage(orders, null, null);
+        }
+        List<PendingOrderView> page = orders.subList(0, limit);
+        PendingOrderView last = page.get(limit - 1);
+        return new PendingOrderPage(List.copyOf(page), last.getCreatedAt(), last.getId());
+    }
+
+    private Location centerOf(double latitude, double longitude) {
+        try {
+            return Location.of(latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOrderException(e.getMessage());
+        }
+    }
+
+    private void validateNearbyQuery(double radiusKm, int limit) {
+        if (!(radiusKm > 0) || radiusKm > maxRadiusKm) {
+            throw new InvalidOrderException("Radius must be in (0, " + maxRadiusKm + "] km");
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidOrderException("Limit must be between 1 and " + maxPageSize);
+        }
+    }
+
     private void validateOrder(Order order) {
         if (order == null) {
             throw new InvalidOrderException("Order cannot be null");
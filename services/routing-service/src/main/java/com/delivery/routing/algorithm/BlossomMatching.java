@@ -0,0 +1,638 @@
+package com.delivery.routing.algorithm;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+final class BlossomMatching {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] edgeWeight;
+    private final int[] endpoint;
+    private final int[][] neighbourEnds;
+
+    private final int[] mate;
+    private final int[] label;
+    private final int[] labelEnd;
+    private final int[] inBlossom;
+    private final int[] blossomParent;
+    private final int[][] blossomChildren;
+    private final int[] blossomBase;
+    private final int[][] blossomEndpoints;
+    private final int[] bestEdge;
+    private final int[][] blossomBestEdges;
+    private final long[] dualVar;
+    private final boolean[] allowEdge;
+    private final IntStack unusedBlossoms = new IntStack();
+    private final IntStack queue = new IntStack();
+
+    private BlossomMatching(int vertexCount, int[] edgeFrom, int[] edgeTo, long[] edgeWeight) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeFrom.length;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+
+        this.endpoint = new int[2 * edgeCount];
+        int[] degree = new int[vertexCount];
+        for (int k = 0; k < edgeCount; k++) {
+            endpoint[2 * k] = edgeFrom[k];
+            endpoint[2 * k + 1] = edgeTo[k];
+            degree[edgeFrom[k]]++;
+            degree[edgeTo[k]]++;
+        }
+
+        this.neighbourEnds = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            neighbourEnds[v] = new int[degree[v]];
+        }
+        int[] filled = new int[vertexCount];
+        for (int k = 0; k < edgeCount; k++) {
+            neighbourEnds[edgeFrom[k]][filled[edgeFrom[k]]++] = 2 * k + 1;
+            neighbourEnds[edgeTo[k]][filled[edgeTo[k]]++] = 2 * k;
+        }
+
+        long maxWeight = 0;
+        for (long weight : edgeWeight) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        this.mate = new int[vertexCount];
+        this.label = new int[2 * vertexCount];
+        this.labelEnd = new int[2 * vertexCount];
+        this.inBlossom = new int[vertexCount];
+        this.blossomParent = new int[2 * vertexCount];
+        this.blossomChildren = new int[2 * vertexCount][];
+        this.blossomBase = new int[2 * vertexCount];
+        this.blossomEndpoints = new int[2 * vertexCount][];
+        this.bestEdge = new int[2 * vertexCount];
+        this.blossomBestEdges = new int[2 * vertexCount][];
+        this.dualVar = new long[2 * vertexCount];
+        this.allowEdge = new boolean[edgeCount];
+
+        Arrays.fill(mate, -1);
+        Arrays.fill(labelEnd, -1);
+        Arrays.fill(blossomParent, -1);
+        Arrays.fill(blossomBase, -1);
+        Arrays.fill(bestEdge, -1);
+        for (int v = 0; v < vertexCount; v++) {
+            inBlossom[v] = v;
+            blossomBase[v] = v;
+            dualVar[v] = maxWeight;
+        }
+        for (int b = 2 * vertexCount - 1; b >= vertexCount; b--) {
+            unusedBlossoms.push(b);
+        }
+    }
+
+    static int[] maxWeightMaxCardinality(int vertexCount, int[] edgeFrom, int[] edgeTo, long[] edgeWeight) {
+        BlossomMatching matching = new BlossomMatching(vertexCount, edgeFrom, edgeTo, edgeWeight);
+        matching.solve();
+        return matching.mates();
+    }
+
+    private int[] mates() {
+        int[] result = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            result[v] = mate[v] >= 0 ? endpoint[mate[v]] : -1;
+        }
+        return result;
+    }
+
+    private long slack(int k) {
+        return dualVar[edgeFrom[k]] + dualVar[edgeTo[k]] - 2 * edgeWeight[k];
+    }
+
+    private void forEachLeaf(int b, IntConsumer action) {
+        if (b < vertexCount) {
+            action.accept(b);
+            return;
+        }
+        for (int child : blossomChildren[b]) {
+            forEachLeaf(child, action);
+        }
+    }
+
+    private void assignLabel(int w, int t, int p) {
+        int b = inBlossom[w];
+        label[w] = label[b] = t;
+        labelEnd[w] = labelEnd[b] = p;
+        bestEdge[w] = bestEdge[b] = -1;
+
+        if (t == 1) {
+            forEachLeaf(b, queue::push);
+        } else if (t == 2) {
+            int base = blossomBase[b];
+            assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+        }
+    }
+
+    private int scanBlossom(int v, int w) {
+        IntStack path = new IntStack();
+        int base = -1;
+
+        while (v != -1 || w != -1) {
+            int b = inBlossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossomBase[b];
+                break;
+            }
+            path.push(b);
+            label[b] = 5;
+
+            if (labelEnd[b] == -1) {
+                v = -1;
+            } else {
+                v = endpoint[labelEnd[b]];
+                b = inBlossom[v];
+                v = endpoint[labelEnd[b]];
+            }
+            if (w != -1) {
+                int swap = v;
+                v = w;
+                w = swap;
+            }
+        }
+
+        for (int i = 0; i < path.size; i++) {
+            label[path.values[i]] = 1;
+        }
+        return base;
+    }
+
+    private void addBlossom(int base, int k) {
+        int v = edgeFrom[k];
+        int w = edgeTo[k];
+        int bb = inBlossom[base];
+        int bv = inBlossom[v];
+        int bw = inBlossom[w];
+
+        int b = unusedBlossoms.pop();
+        blossomBase[b] = base;
+        blossomParent[b] = -1;
+        blossomParent[bb] = b;
+
+        IntStack path = new IntStack();
+        IntStack endpoints = new IntStack();
+        while (bv != bb) {
+            blossomParent[bv] = b;
+            path.push(bv);
+            endpoints.push(labelEnd[bv]);
+            v = endpoint[labelEnd[bv]];
+            bv = inBlossom[v];
+        }
+        path.push(bb);
+        path.reverse();
+        endpoints.reverse();
+        endpoints.push(2 * k);
+        while (bw != bb) {
+            blossomParent[bw] = b;
+            path.push(bw);
+            endpoints.push(labelEnd[bw] ^ 1);
+            w = endpoint[labelEnd[bw]];
+            bw = inBlossom[w];
+        }
+
+        blossomChildren[b] = path.toArray();
+        blossomEndpoints[b] = endpoints.toArray();
+        label[b] = 1;
+        labelEnd[b] = labelEnd[bb];
+        dualVar[b] = 0;
+
+        forEachLeaf(b, leaf -> {
+            if (label[inBlossom[leaf]] == 2) {
+                queue.push(leaf);
+            }
+            inBlossom[leaf] = b;
+        });
+
+        collectBestEdges(b);
+    }
+
+    private void collectBestEdges(int b) {
+        int[] bestEdgeTo = new int[2 * vertexCount];
+        Arrays.fill(bestEdgeTo, -1);
+
+        for (int child : blossomChildren[b]) {
+            if (blossomBestEdges[child] == null) {
+                forEachLeaf(child, leaf -> {
+                    for (int p : neighbourEnds[leaf]) {
+                        considerBestEdge(b, p / 2, bestEdgeTo);
+                    }
+                });
+            } else {
+                for (int k : blossomBestEdges[child]) {
+                    considerBestEdge(b, k, bestEdgeTo);
+                }
+            }
+            blossomBestEdges[child] = null;
+            bestEdge[child] = -1;
+        }
+
+        blossomBestEdges[b] = Arrays.stream(bestEdgeTo).filter(k -> k != -1).toArray();
+        bestEdge[b] = -1;
+        for (int k : blossomBestEdges[b]) {
+            if (bestEdge[b] == -1 || slack(k) < slack(bestEdge[b])) {
+                bestEdge[b] = k;
+            }
+        }
+    }
+
+    private void considerBestEdge(int b, int k, int[] bestEdgeTo) {
+        int j = inBlossom[edgeTo[k]] == b ? edgeFrom[k] : edgeTo[k];
+        int bj = inBlossom[j];
+        if (bj != b && label[bj] == 1 && (bestEdgeTo[bj] == -1 || slack(k) < slack(bestEdgeTo[bj]))) {
+            bestEdgeTo[bj] = k;
+        }
+    }
+
+    private void expandBlossom(int b, boolean endStage) {
+        for (int child : blossomChildren[b]) {
+            blossomParent[child] = -1;
+            if (child < vertexCount) {
+                inBlossom[child] = child;
+            } else if (endStage && dualVar[child] == 0) {
+                expandBlossom(child, true);
+            } else {
+                forEachLeaf(child, leaf -> inBlossom[leaf] = child);
+            }
+        }
+
+        if (!endStage && label[b] == 2) {
+            relabelExpandedChildren(b);
+        }
+
+        label[b] = -1;
+        labelEnd[b] = -1;
+        blossomChildren[b] = null;
+        blossomEndpoints[b] = null;
+        blossomBase[b] = -1;
+        blossomBestEdges[b] = null;
+        bestEdge[b] = -1;
+        unusedBlossoms.push(b);
+    }
+
+    private void relabelExpandedChildren(int b) {
+        int[] children = blossomChildren[b];
+        int[] endpoints = blossomEndpoints[b];
+        int entryChild = inBlossom[endpoint[labelEnd[b] ^ 1]];
+        int j = indexOf(children, entryChild);
+        int jStep;
+        int endpointTrick;
+        if ((j & 1) != 0) {
+            j -= children.length;
+            jStep = 1;
+            endpointTrick = 0;
+        } else {
+            jStep = -1;
+            endpointTrick = 1;
+        }
+
+        int p = labelEnd[b];
+        while (j != 0) {
+            label[endpoint[p ^ 1]] = 0;
+            label[endpoint[at(endpoints, j - endpointTrick) ^ endpointTrick ^ 1]] = 0;
+            assignLabel(endpoint[p ^ 1], 2, p);
+            allowEdge[at(endpoints, j - endpointTrick) / 2] = true;
+            j += jStep;
+            p = at(endpoints, j - endpointTrick) ^ endpointTrick;
+            allowEdge[p / 2] = true;
+            j += jStep;
+        }
+
+        int bv = at(children, j);
+        label[endpoint[p ^ 1]] = label[bv] = 2;
+        labelEnd[endpoint[p ^ 1]] = labelEnd[bv] = p;
+        bestEdge[bv] = -1;
+        j += jStep;
+
+        while (at(children, j) != entryChild) {
+            bv = at(children, j);
+            if (label[bv] == 1) {
+                j += jStep;
+                continue;
+            }
+
+            int reached = firstLabelledLeaf(bv);
+            if (reached != -1) {
+                label[reached] = 0;
+                label[endpoint[mate[blossomBase[bv]]]] = 0;
+                assignLabel(reached, 2, labelEnd[reached]);
+            }
+            j += jStep;
+        }
+    }
+
+    private int firstLabelledLeaf(int b) {
+        if (b < vertexCount) {
+            return label[b] != 0 ? b : -1;
+        }
+        for (int child : blossomChildren[b]) {
+            int leaf = firstLabelledLeaf(child);
+            if (leaf != -1) {
+                return leaf;
+            }
+        }
+        return -1;
+    }
+
+    private void augmentBlossom(int b, int v) {
+        int t = v;
+        while (blossomParent[t] != b) {
+            t = blossomParent[t];
+        }
+        if (t >= vertexCount) {
+            augmentBlossom(t, v);
+        }
+
+        int[] children = blossomChildren[b];
+        int[] endpoints = blossomEndpoints[b];
+        int i = indexOf(children, t);
+        int j = i;
+        int jStep;
+        int endpointTrick;
+        if ((i & 1) != 0) {
+            j -= children.length;
+            jStep = 1;
+            endpointTrick = 0;
+        } else {
+            jStep = -1;
+            endpointTrick = 1;
+        }
+
+        while (j != 0) {
+            j += jStep;
+            t = at(children, j);
+            int p = at(endpoints, j - endpointTrick) ^ endpointTrick;
+            if (t >= vertexCount) {
+                augmentBlossom(t, endpoint[p]);
+            }
+            j += jStep;
+            t = at(children, j);
+            if (t >= vertexCount) {
+                augmentBlossom(t, endpoint[p ^ 1]);
+            }
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+
+        blossomChildren[b] = rotate(children, i);
+        blossomEndpoints[b] = rotate(endpoints, i);
+        blossomBase[b] = blossomBase[blossomChildren[b][0]];
+    }
+
+    private void augmentMatching(int k) {
+        augmentFrom(edgeFrom[k], 2 * k + 1);
+        augmentFrom(edgeTo[k], 2 * k);
+    }
+
+    private void augmentFrom(int s, int p) {
+        while (true) {
+            int bs = inBlossom[s];
+            if (bs >= vertexCount) {
+                augmentBlossom(bs, s);
+            }
+            mate[s] = p;
+            if (labelEnd[bs] == -1) {
+                return;
+            }
+
+            int t = endpoint[labelEnd[bs]];
+            int bt = inBlossom[t];
+            s = endpoint[labelEnd[bt]];
+            int j = endpoint[labelEnd[bt] ^ 1];
+            if (bt >= vertexCount) {
+                augmentBlossom(bt, j);
+            }
+            mate[j] = labelEnd[bt];
+            p = labelEnd[bt] ^ 1;
+        }
+    }
+
+    private void solve() {
+        for (int stage = 0; stage < vertexCount; stage++) {
+            startStage();
+
+            if (!growUntilAugmented()) {
+                return;
+            }
+
+            for (int b = vertexCount; b < 2 * vertexCount; b++) {
+                if (blossomParent[b] == -1 && blossomBase[b] >= 0 && label[b] == 1 && dualVar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+    }
+
+    private void startStage() {
+        Arrays.fill(label, 0);
+        Arrays.fill(bestEdge, -1);
+        Arrays.fill(blossomBestEdges, vertexCount, 2 * vertexCount, null);
+        Arrays.fill(allowEdge, false);
+        queue.size = 0;
+
+        for (int v = 0; v < vertexCount; v++) {
+            if (mate[v] == -1 && label[inBlossom[v]] == 0) {
+                assignLabel(v, 1, -1);
+            }
+        }
+    }
+
+    private boolean growUntilAugmented() {
+        while (true) {
+            if (scanQueue()) {
+                return true;
+            }
+            if (!adjustDuals()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean scanQueue() {
+        while (queue.size > 0) {
+            int v = queue.pop();
+            for (int p : neighbourEnds[v]) {
+                int k = p / 2;
+                int w = endpoint[p];
+                if (inBlossom[v] == inBlossom[w]) {
+                    continue;
+                }
+
+                long kSlack = 0;
+                if (!allowEdge[k]) {
+                    kSlack = slack(k);
+                    if (kSlack <= 0) {
+                        allowEdge[k] = true;
+                    }
+                }
+
+                if (allowEdge[k]) {
+                    if (label[inBlossom[w]] == 0) {
+                        assignLabel(w, 2, p ^ 1);
+                    } else if (label[inBlossom[w]] == 1) {
+                        int base = scanBlossom(v, w);
+                        if (base >= 0) {
+                            addBlossom(base, k);
+                        } else {
+                            augmentMatching(k);
+                            return true;
+                        }
+                    } else if (label[w] == 0) {
+                        label[w] = 2;
+                        labelEnd[w] = p ^ 1;
+                    }
+                } else if (label[inBlossom[w]] == 1) {
+                    int b = inBlossom[v];
+                    if (bestEdge[b] == -1 || kSlack < slack(bestEdge[b])) {
+                        bestEdge[b] = k;
+                    }
+                } else if (label[w] == 0) {
+                    if (bestEdge[w] == -1 || kSlack < slack(bestEdge[w])) {
+                        bestEdge[w] = k;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean adjustDuals() {
+        int deltaType = -1;
+        long delta = 0;
+        int deltaEdge = -1;
+        int deltaBlossom = -1;
+
+        for (int v = 0; v < vertexCount; v++) {
+            if (label[inBlossom[v]] == 0 && bestEdge[v] != -1) {
+                long d = slack(bestEdge[v]);
+                if (deltaType == -1 || d < delta) {
+                    delta = d;
+                    deltaType = 2;
+                    deltaEdge = bestEdge[v];
+                }
+            }
+        }
+
+        for (int b = 0; b < 2 * vertexCount; b++) {
+            if (blossomParent[b] == -1 && label[b] == 1 && bestEdge[b] != -1) {
+                long d = slack(bestEdge[b]) / 2;
+                if (deltaType == -1 || d < delta) {
+                    delta = d;
+                    deltaType = 3;
+                    deltaEdge = bestEdge[b];
+                }
+            }
+        }
+
+        for (int b = vertexCount; b < 2 * vertexCount; b++) {
+            if (blossomBase[b] >= 0 && blossomParent[b] == -1 && label[b] == 2
+                    && (deltaType == -1 || dualVar[b] < delta)) {
+                delta = dualVar[b];
+                deltaType = 4;
+                deltaBlossom = b;
+            }
+        }
+
+        if (deltaType == -1) {
+            deltaType = 1;
+            delta = Math.max(0, minVertexDual());
+        }
+
+        for (int v = 0; v < vertexCount; v++) {
+            if (label[inBlossom[v]] == 1) {
+                dualVar[v] -= delta;
+            } else if (label[inBlossom[v]] == 2) {
+                dualVar[v] += delta;
+            }
+        }
+        for (int b = vertexCount; b < 2 * vertexCount; b++) {
+            if (blossomBase[b] >= 0 && blossomParent[b] == -1) {
+                if (label[b] == 1) {
+                    dualVar[b] += delta;
+                } else if (label[b] == 2) {
+                    dualVar[b] -= delta;
+                }
+            }
+        }
+
+        switch (deltaType) {
+            case 1 -> {
+                return false;
+            }
+            case 2 -> {
+                allowEdge[deltaEdge] = true;
+                int i = edgeFrom[deltaEdge];
+                if (label[inBlossom[i]] == 0) {
+                    i = edgeTo[deltaEdge];
+                }
+                queue.push(i);
+            }
+            case 3 -> {
+                allowEdge[deltaEdge] = true;
+                queue.push(edgeFrom[deltaEdge]);
+            }
+            default -> expandBlossom(deltaBlossom, false);
+        }
+        return true;
+    }
+
+    private long minVertexDual() {
+        long min = Long.MAX_VALUE;
+        for (int v = 0; v < vertexCount; v++) {
+            min = Math.min(min, dualVar[v]);
+        }
+        return min;
+    }
+
+    private static int at(int[] values, int index) {
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] rotate(int[] values, int start) {
+        int[] rotated = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rotated[i] = values[(start + i) % values.length];
+        }
+        return rotated;
+    }
+
+    private static final class IntStack {
+        private int[] values = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int value = values[i];
+                values[i] = values[j];
+                values[j] = value;
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+@Component
+@RequiredArgsConstructor
+public class ConstructionHeuristics {
+    private final IncrementalRouteOptimizer incrementalRouteOptimizer;
+
+    public enum Strategy {
+        CHRISTOFIDES,
+        NEAREST_NEIGHBOR,
+        CHEAPEST_INSERTION,
+        RANDOM_INSERTION
+    }
+
+    public int[] nearestNeighbor(DistanceMatrix matrix) {
+        int n = matrix.size();
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+
+        for (int i = 1; i < n; i++) {
+            checkInterrupted();
+            int current = tour[i - 1];
+            int nearest = -1;
+            for (int candidate = 1; candidate < n; candidate++) {
+                if (isAvailable(candidate, visited)
+                        && (nearest < 0 || matrix.getDistance(current, candidate) < matrix.getDistance(current, nearest))) {
+                    nearest = candidate;
+                }
+            }
+            tour[i] = nearest;
+            visited[nearest] = true;
+        }
+        return tour;
+    }
+
+    public int[] cheapestInsertion(DistanceMatrix matrix) {
+        int orders = (matrix.size() - 1) / 2;
+        boolean[] inserted = new boolean[orders];
+        int[] tour = {0};
+
+        for (int step = 0; step < orders; step++) {
+            int[] best = null;
+            double bestDistance = Double.MAX_VALUE;
+            int bestOrder = -1;
+
+            for (int order = 0; order < orders; order++) {
+                if (inserted[order]) {
+                    continue;
+                }
+                checkInterrupted();
+                int[] candidate = insert(tour, order, matrix);
+                double distance = pathDistance(candidate, matrix);
+                if (distance < bestDistance) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestOrder = order;
+                }
+            }
+
+            tour = best;
+            inserted[bestOrder] = true;
+        }
+        return tour;
+    }
+
+    public int[] randomInsertion(DistanceMatrix matrix, Random random) {
+        int orders = (matrix.size() - 1) / 2;
+        int[] sequence = new int[orders];
+        for (int i = 0; i < orders; i++) {
+            sequence[i] = i;
+        }
+        for (int i = orders - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = sequence[i];
+            sequence[i] = sequence[j];
+            sequence[j] = swap;
+        }
+
+        int[] tour = {0};
+        for (int order : sequence) {
+            checkInterrupted();
+            tour = insert(tour, order, matrix);
+        }
+        return tour;
+    }
+
+    private void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Tour construction interrupted");
+        }
+    }
+
+    private int[] insert(int[] tour, int order, DistanceMatrix matrix) {
+        return incrementalRouteOptimizer.insert(tour, 2 * order + 1, 2 * order + 2, matrix);
+    }
+
+    private double pathDistance(int[] tour, DistanceMatrix matrix) {
+        double distance = 0;
+        for (int i = 1; i < tour.length; i++) {
+            distance += matrix.getDistance(tour[i - 1], tour[i]);
+        }
+        return distance;
+    }
+
+    private boolean isAvailable(int node, boolean[] visited) {
+        if (visited[node]) {
+            return false;
+        }
+        return node % 2 == 1 || visited[node - 1];
+    }
+}
@@ -0,0 +1,461 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+@Component
+@Slf4j
+public class DispatchSolver {
+    private static final int UNASSIGNED = -1;
+    private static final int MAX_IMPROVEMENT_ROUNDS = 200;
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+    private static final Insertion INFEASIBLE = new Insertion(Double.POSITIVE_INFINITY, -1, -1);
+
+    private final int candidateExecutives;
+
+    public DispatchSolver(@Value("${routing.dispatch.candidate-executives:10}") int candidateExecutives) {
+        if (candidateExecutives <= 0) {
+            throw new IllegalArgumentException("Candidate executives must be positive, got: " + candidateExecutives);
+        }
+        this.candidateExecutives = candidateExecutives;
+    }
+
+    public Plan solve(DistanceMatrix matrix, int executives, int capacity, long deadlineNanos) {
+        Problem problem = new Problem(matrix, executives, (matrix.size() - executives) / 2);
+        Route[] routes = new Route[executives];
+        for (int e = 0; e < executives; e++) {
+            routes[e] = new Route(e, capacity);
+        }
+
+        int[][] candidates = nearestExecutives(problem);
+        int[] owner = new int[problem.orders()];
+        Arrays.fill(owner, UNASSIGNED);
+
+        construct(problem, routes, candidates, owner);
+        assignRemaining(problem, routes, owner);
+        double constructedKm = totalCost(problem, routes);
+        int rounds = improve(problem, routes, candidates, owner, deadlineNanos);
+        double improvedKm = totalCost(problem, routes);
+
+        log.info("Dispatched {} orders over {} executives: {} km after construction, {} km after {} improvement rounds",
+                problem.orders(), executives, constructedKm, improvedKm, rounds);
+
+        return toPlan(problem, routes, owner, improvedKm);
+    }
+
+    private int[][] nearestExecutives(Problem problem) {
+        int k = Math.min(candidateExecutives, problem.executives());
+        return stream(problem.orders())
+                .mapToObj(order -> nearestExecutives(problem, problem.pickup(order), k))
+                .toArray(int[][]::new);
+    }
+
+    private int[] nearestExecutives(Problem problem, int node, int k) {
+        int[] nearest = new int[k];
+        double[] distances = new double[k];
+        int found = 0;
+
+        for (int e = 0; e < problem.executives(); e++) {
+            double distance = problem.distance(e, node);
+            if (found == k && distance >= distances[k - 1]) {
+                continue;
+            }
+            int position = found < k ? found++ : k - 1;
+            while (position > 0 && distances[position - 1] > distance) {
+                distances[position] = distances[position - 1];
+                nearest[position] = nearest[position - 1];
+                position--;
+            }
+            distances[position] = distance;
+            nearest[position] = e;
+        }
+        return nearest;
+    }
+
+    private void construct(Problem problem, Route[] routes, int[][] candidates, int[] owner) {
+        double[][] costs = new double[problem.orders()][];
+        stream(problem.orders()).forEach(order -> costs[order] = IntStream.of(candidates[order])
+                .mapToDouble(e -> bestInsertion(problem, routes[e], order).cost())
+                .toArray());
+
+        int[][] watchers = watchers(candidates, routes.length);
+        boolean[] settled = new boolean[problem.orders()];
+
+        while (true) {
+            int chosen = UNASSIGNED;
+            int chosenSlot = -1;
+            double chosenRegret = -1;
+            double chosenCost = Double.POSITIVE_INFINITY;
+
+            for (int order = 0; order < problem.orders(); order++) {
+                if (settled[order]) {
+                    continue;
+                }
+                int best = -1;
+                double second = Double.POSITIVE_INFINITY;
+                for (int slot = 0; slot < costs[order].length; slot++) {
+                    double cost = costs[order][slot];
+                    if (best < 0 || cost < costs[order][best]) {
+                        second = best < 0 ? second : costs[order][best];
+                        best = slot;
+                    } else if (cost < second) {
+                        second = cost;
+                    }
+                }
+
+                double cost = costs[order][best];
+                if (cost == Double.POSITIVE_INFINITY) {
+                    settled[order] = true;
+                    continue;
+                }
+                double regret = second == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : second - cost;
+                if (regret > chosenRegret || (regret == chosenRegret && cost < chosenCost)) {
+                    chosen = order;
+                    chosenSlot = best;
+                    chosenRegret = regret;
+                    chosenCost = cost;
+                }
+            }
+
+            if (chosen == UNASSIGNED) {
+                return;
+            }
+
+            int executive = candidates[chosen][chosenSlot];
+            Route route = routes[executive];
+            route.insert(problem, chosen, bestInsertion(problem, route, chosen));
+            owner[chosen] = executive;
+            settled[chosen] = true;
+
+            int[] watching = watchers[executive];
+            stream(watching).forEach(encoded -> {
+                int order = encoded / candidateExecutives;
+                if (!settled[order]) {
+                    costs[order][encoded % candidateExecutives] = bestInsertion(problem, route, order).cost();
+                }
+            });
+        }
+    }
+
+    private void assignRemaining(Problem problem, Route[] routes, int[] owner) {
+        for (int order = 0; order < owner.length; order++) {
+            if (owner[order] != UNASSIGNED) {
+                continue;
+            }
+
+            int bestExecutive = UNASSIGNED;
+            Insertion best = INFEASIBLE;
+            for (int e = 0; e < routes.length; e++) {
+                Insertion insertion = bestInsertion(problem, routes[e], order);
+                if (insertion.cost() < best.cost()) {
+                    best = insertion;
+                    bestExecutive = e;
+                }
+            }
+
+            if (bestExecutive == UNASSIGNED) {
+                return;
+            }
+            routes[bestExecutive].insert(problem, order, best);
+            owner[order] = bestExecutive;
+        }
+    }
+
+    private int[][] watchers(int[][] candidates, int executives) {
+        int[] counts = new int[executives];
+        for (int[] orderCandidates : candidates) {
+            for (int executive : orderCandidates) {
+                counts[executive]++;
+            }
+        }
+
+        int[][] watchers = new int[executives][];
+        for (int e = 0; e < executives; e++) {
+            watchers[e] = new int[counts[e]];
+            counts[e] = 0;
+        }
+        for (int order = 0; order < candidates.length; order++) {
+            for (int slot = 0; slot < candidates[order].length; slot++) {
+                int executive = candidates[order][slot];
+                watchers[executive][counts[executive]++] = order * candidateExecutives + slot;
+            }
+        }
+        return watchers;
+    }
+
+    private int improve(Problem problem, Route[] routes, int[][] candidates, int[] owner, long deadlineNanos) {
+        int rounds = 0;
+        while (rounds < MAX_IMPROVEMENT_ROUNDS && System.nanoTime() < deadlineNanos) {
+            rounds++;
+            double[] routeCosts = Arrays.stream(routes).mapToDouble(route -> route.cost(problem)).toArray();
+
+            List<Move> moves = stream(problem.orders())
+                    .filter(order -> owner[order] != UNASSIGNED)
+                    .mapToObj(order -> bestMove(problem, routes, routeCosts, candidates, owner, order))
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingDouble(Move::gain).reversed())
+                    .toList();
+
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            boolean[] touched = new boolean[routes.length];
+            for (Move move : moves) {
+                if (!touched[move.from()] && !touched[move.to()]) {
+                    apply(problem, routes, owner, move);
+                    touched[move.from()] = true;
+                    touched[move.to()] = true;
+                }
+            }
+        }
+        return rounds;
+    }
+
+    private Move bestMove(
+            Problem problem,
+            Route[] routes,
+            double[] routeCosts,
+            int[][] candidates,
+            int[] owner,
+            int order
+    ) {
+        int from = owner[order];
+        Route source = routes[from].without(problem, order);
+        double sourceCost = source.cost(problem);
+        double saving = routeCosts[from] - sourceCost;
+
+        Move best = null;
+        for (int to : candidates[order]) {
+            if (to == from) {
+                continue;
+            }
+            Route target = routes[to];
+
+            double relocateGain = saving - bestInsertion(problem, target, order).cost();
+            if (relocateGain > IMPROVEMENT_EPSILON && (best == null || relocateGain > best.gain())) {
+                best = new Move(relocateGain, order, UNASSIGNED, from, to);
+            }
+
+            for (int position = 0; position < target.size; position++) {
+                int other = problem.orderOf(target.nodes[position]);
+                if (!problem.isPickup(target.nodes[position]) || !contains(candidates[other], from)) {
+                    continue;
+                }
+                Route reducedTarget = target.without(problem, other);
+                double exchanged = sourceCost + bestInsertion(problem, source, other).cost()
+                        + reducedTarget.cost(problem) + bestInsertion(problem, reducedTarget, order).cost();
+                double exchangeGain = routeCosts[from] + routeCosts[to] - exchanged;
+                if (exchangeGain > IMPROVEMENT_EPSILON && (best == null || exchangeGain > best.gain())) {
+                    best = new Move(exchangeGain, order, other, from, to);
+                }
+            }
+        }
+        return best;
+    }
+
+    private void apply(Problem problem, Route[] routes, int[] owner, Move move) {
+        Route source = routes[move.from()];
+        Route target = routes[move.to()];
+
+        source.remove(problem, move.order());
+        if (move.other() != UNASSIGNED) {
+            target.remove(problem, move.other());
+            source.insert(problem, move.other(), bestInsertion(problem, source, move.other()));
+            owner[move.other()] = move.from();
+        }
+        target.insert(problem, move.order(), bestInsertion(problem, target, move.order()));
+        owner[move.order()] = move.to();
+    }
+
+    private Insertion bestInsertion(Problem problem, Route route, int order) {
+        if (route.isFull()) {
+            return INFEASIBLE;
+        }
+
+        int pickup = problem.pickup(order);
+        int delivery = problem.delivery(order);
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestPickupGap = -1;
+        int bestDeliveryGap = -1;
+        double bestPickupDetour = Double.POSITIVE_INFINITY;
+        int bestPickupDetourGap = -1;
+
+        for (int gap = 0; gap <= route.size; gap++) {
+            int before = route.nodeBefore(gap);
+            double together = problem.distance(before, pickup) + problem.distance(pickup, delivery);
+            if (gap < route.size) {
+                together += problem.distance(delivery, route.nodes[gap]) - problem.distance(before, route.nodes[gap]);
+            }
+            if (together < bestCost) {
+                bestCost = together;
+                bestPickupGap = gap;
+                bestDeliveryGap = gap;
+            }
+
+            if (bestPickupDetourGap >= 0) {
+                double split = bestPickupDetour + detour(problem, route, gap, delivery);
+                if (split < bestCost) {
+                    bestCost = split;
+                    bestPickupGap = bestPickupDetourGap;
+                    bestDeliveryGap = gap;
+                }
+            }
+
+            double pickupDetour = detour(problem, route, gap, pickup);
+            if (pickupDetour < bestPickupDetour) {
+                bestPickupDetour = pickupDetour;
+                bestPickupDetourGap = gap;
+            }
+        }
+
+        return new Insertion(bestCost, bestPickupGap, bestDeliveryGap);
+    }
+
+    private double detour(Problem problem, Route route, int gap, int node) {
+        int before = route.nodeBefore(gap);
+        double detour = problem.distance(before, node);
+        if (gap < route.size) {
+            detour += problem.distance(node, route.nodes[gap]) - problem.distance(before, route.nodes[gap]);
+        }
+        return detour;
+    }
+
+    private double totalCost(Problem problem, Route[] routes) {
+        return Arrays.stream(routes).mapToDouble(route -> route.cost(problem)).sum();
+    }
+
+    private Plan toPlan(Problem problem, Route[] routes, int[] owner, double distanceKm) {
+        int[][] assignments = Arrays.stream(routes)
+                .map(route -> Arrays.stream(route.nodes, 0, route.size)
+                        .filter(problem::isPickup)
+                        .map(problem::orderOf)
+                        .toArray())
+                .toArray(int[][]::new);
+        int[] unassigned = IntStream.range(0, owner.length)
+                .filter(order -> owner[order] == UNASSIGNED)
+                .toArray();
+        return new Plan(assignments, unassigned, distanceKm);
+    }
+
+    private boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IntStream stream(int count) {
+        IntStream range = IntStream.range(0, count);
+        return count >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    private IntStream stream(int[] values) {
+        IntStream items = IntStream.of(values);
+        return values.length >= PARALLEL_THRESHOLD ? items.parallel() : items;
+    }
+
+    public record Plan(int[][] assignments, int[] unassigned, double distanceKm) {
+    }
+
+    private record Problem(DistanceMatrix matrix, int executives, int orders) {
+        double distance(int from, int to) {
+            return matrix.getDistance(from, to);
+        }
+
+        int pickup(int order) {
+            return executives + 2 * order;
+        }
+
+        int delivery(int order) {
+            return pickup(order) + 1;
+        }
+
+        int orderOf(int node) {
+            return (node - executives) / 2;
+        }
+
+        boolean isPickup(int node) {
+            return (node - executives) % 2 == 0;
+        }
+    }
+
+    private record Insertion(double cost, int pickupGap, int deliveryGap) {
+    }
+
+    private record Move(double gain, int order, int other, int from, int to) {
+    }
+
+    private static final class Route {
+        private final int start;
+        private final int[] nodes;
+        private int size;
+
+        private Route(int start, int capacity) {
+            this(start, new int[2 * capacity], 0);
+        }
+
+        private Route(int start, int[] nodes, int size) {
+            this.start = start;
+            this.nodes = nodes;
+            this.size = size;
+        }
+
+        private boolean isFull() {
+            return size == nodes.length;
+        }
+
+        private int nodeBefore(int gap) {
+            return gap == 0 ? start : nodes[gap - 1];
+        }
+
+        private double cost(Problem problem) {
+            double cost = 0;
+            int previous = start;
+            for (int i = 0; i < size; i++) {
+                cost += problem.distance(previous, nodes[i]);
+                previous = nodes[i];
+            }
+            return cost;
+        }
+
+        private void insert(Problem problem, int order, Insertion insertion) {
+            int pickupGap = insertion.pickupGap();
+            int deliveryGap = insertion.deliveryGap();
+            System.arraycopy(nodes, deliveryGap, nodes, deliveryGap + 2, size - deliveryGap);
+            nodes[deliveryGap + 1] = problem.delivery(order);
+            System.arraycopy(nodes, pickupGap, nodes, pickupGap + 1, deliveryGap - pickupGap);
+            nodes[pickupGap] = problem.pickup(order);
+            size += 2;
+        }
+
+        private void remove(Problem problem, int order) {
+            int pickup = problem.pickup(order);
+            int delivery = problem.delivery(order);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] != pickup && nodes[i] != delivery) {
+                    nodes[kept++] = nodes[i];
+                }
+            }
+            size = kept;
+        }
+
+        private Route without(Problem problem, int order) {
+            Route copy = new Route(start, nodes.clone(), size);
+            copy.remove(problem, order);
+            return copy;
+        }
+    }
+}
@@ -4,8 +4,9 @@ import com.delivery.common.domain.Location;
 import com.delivery.routing.domain.DeliveryBatch;
 import com.delivery.routing.domain.DistanceMatrix;
 import com.delivery.routing.domain.ExecutiveLocation;
+import com.delivery.routing.domain.OrderInfo;
 import com.delivery.routing.domain.RouteStep;
-import com.delivery.routing.util.GeoCalculator;
+import com.delivery.routing.domain.SpeedProfile;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,15 +14,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class DistanceMatrixBuilder {
-    private final GeoCalculator geoCalculator;
-
-    private static final double AVERAGE_SPEED_KM_HR = 20.0;
-    private static final int MINUTES_PER_HOUR = 60;
+    private final DistanceProvider distanceProvider;
+    private final SpeedProfileStore speedProfileStore;
 
     public DistanceMatrix build(DeliveryBatch batch, ExecutiveLocation executiveLocation) {
         List<Location> allLocations = new ArrayList<>();
@@ -30,10 +30,127 @@ public class DistanceMatrixBuilder {
         addExecutiveLocation(allLocations, metadata, executiveLocation);
         addOrderLocations(allLocations, metadata, batch);
 
+        SpeedProfile speedProfile = speedProfileStore.current();
         return DistanceMatrix.builder()
                 .locations(allLocations)
-                .distances(buildDistanceMatrix(allLocations))
-                .times(buildTimeMatrix(allLocations))
+                .packedDistances(distanceProvider.packedDistances(allLocations))
+                .speedProfile(speedProfile)
+                .zones(speedProfile.zonesOf(allLocations))
+                .departureMinuteOfDay(speedProfileStore.currentMinuteOfDay())
+                .locationMetadata(metadata)
+                .build();
+    }
+
+    public DistanceMatrix extend(DistanceMatrix matrix, OrderInfo order) {
+        List<Location> locations = new ArrayList<>(matrix.getLocations());
+        Map<Integer, DistanceMatrix.LocationMetadata> metadata = new HashMap<>(matrix.getLocationMetadata());
+        addOrderLocation(locations, metadata, order);
+
+        return DistanceMatrix.builder()
+                .locations(locations)
+                .packedDistances(distanceProvider.extend(matrix.getPackedDistances(), locations, matrix.size()))
+                .speedProfile(matrix.getSpeedProfile())
+                .zones(matrix.getSpeedProfile().zonesOf(locations))
+                .departureMinuteOfDay(matrix.getDepartureMinuteOfDay())
+                .locationMetadata(metadata)
+                .build();
+    }
+
+    public Optional<DistanceMatrix> rebase(
+            DistanceMatrix planned,
+            DeliveryBatch batch,
+            ExecutiveLocation executiveLocation
+    ) {
+        Map<UUID, Integer> plannedPickups = new HashMap<>();
+        planned.getLocationMetadata().forEach((node, location) -> {
+            if (location.getType() == RouteStep.LocationType.RESTAURANT_PICKUP) {
+                plannedPickups.put(location.getOrderId(), node);
+            }
+        });
+
+        int[] pickupNodes = new int[batch.getOrderCount()];
+        for (int i = 0; i < pickupNodes.length; i++) {
+            Integer pickup = plannedPickups.get(batch.getOrders().get(i).getOrderId());
+            if (pickup == null) {
+                return Optional.empty();
+            }
+            pickupNodes[i] = pickup;
+        }
+
+        List<Location> allLocations = new ArrayList<>();
+        Map<Integer, DistanceMatrix.LocationMetadata> metadata = new HashMap<>();
+        addExecutiveLocation(allLocations, metadata, executiveLocation);
+        addOrderLocations(allLocations, metadata, batch);
+
+        int n = allLocations.size();
+        float[] distances = copyLegs(planned, sourceNodes(0, pickupNodes), 1);
+        float[] fromStart = distanceProvider.distancesFrom(allLocations.get(0), allLocations.subList(1, n));
+        for (int row = 1; row < n; row++) {
+            distances[DistanceMatrix.rowOffset(row)] = fromStart[row - 1];
+        }
+        return Optional.of(batchMatrix(allLocations, distances, metadata));
+    }
+
+    public DistanceMatrix select(
+            DistanceMatrix source,
+            int startNode,
+            int[] pickupNodes,
+            DeliveryBatch batch,
+            ExecutiveLocation executiveLocation
+    ) {
+        List<Location> allLocations = new ArrayList<>();
+        Map<Integer, DistanceMatrix.LocationMetadata> metadata = new HashMap<>();
+        addExecutiveLocation(allLocations, metadata, executiveLocation);
+        addOrderLocations(allLocations, metadata, batch);
+
+        return batchMatrix(allLocations, copyLegs(source, sourceNodes(startNode, pickupNodes), 0), metadata);
+    }
+
+    public DistanceMatrix build(List<Location> locations) {
+        SpeedProfile speedProfile = speedProfileStore.current();
+        return DistanceMatrix.builder()
+                .locations(locations)
+                .packedDistances(distanceProvider.packedDistances(locations))
+                .speedProfile(speedProfile)
+                .zones(speedProfile.zonesOf(locations))
+                .departureMinuteOfDay(speedProfileStore.currentMinuteOfDay())
+                .locationMetadata(Map.of())
+                .build();
+    }
+
+    private int[] sourceNodes(int startNode, int[] pickupNodes) {
+        int[] nodes = new int[2 * pickupNodes.length + 1];
+        nodes[0] = startNode;
+        for (int i = 0; i < pickupNodes.length; i++) {
+            nodes[2 * i + 1] = pickupNodes[i];
+            nodes[2 * i + 2] = pickupNodes[i] + 1;
+        }
+        return nodes;
+    }
+
+    private float[] copyLegs(DistanceMatrix source, int[] sourceNodes, int firstColumn) {
+        float[] distances = new float[DistanceMatrix.packedLength(sourceNodes.length)];
+        for (int row = 1; row < sourceNodes.length; row++) {
+            int offset = DistanceMatrix.rowOffset(row);
+            for (int column = firstColumn; column < row; column++) {
+                distances[offset + column] = (float) source.getDistance(sourceNodes[row], sourceNodes[column]);
+            }
+        }
+        return distances;
+    }
+
+    private DistanceMatrix batchMatrix(
+            List<Location> locations,
+            float[] distances,
+            Map<Integer, DistanceMatrix.LocationMetadata> metadata
+    ) {
+        SpeedProfile speedProfile = speedProfileStore.current();
+        return DistanceMatrix.builder()
+                .locations(locations)
+                .packedDistances(distances)
+                .speedProfile(speedProfile)
+                .zones(speedProfile.zonesOf(locations))
+                .departureMinuteOfDay(speedProfileStore.currentMinuteOfDay())
                 .locationMetadata(metadata)
                 .build();
     }
@@ -55,49 +172,28 @@ public class DistanceMatrixBuilder {
             Map<Integer, DistanceMatrix.LocationMetadata> metadata,
             DeliveryBatch batch
     ) {
-        int index = 1;
         for (var order : batch.getOrders()) {
-            locations.add(order.getRestaurantLocation());
-            metadata.put(index++, DistanceMatrix.LocationMetadata.builder()
-                    .id(order.getRestaurantId())
-                    .type(RouteStep.LocationType.RESTAURANT_PICKUP)
-                    .build());
-
-            locations.add(order.getDeliveryLocation());
-            metadata.put(index++, DistanceMatrix.LocationMetadata.builder()
-                    .id(order.getOrderId())
-                    .type(RouteStep.LocationType.CUSTOMER_DELIVERY)
-                    .build());
+            addOrderLocation(locations, metadata, order);
         }
     }
 
-    private double[][] buildDistanceMatrix(List<Location> locations) {
-        int n = locations.size();
-        double[][] distances = new double[n][n];
-
-        IntStream.range(0, n).parallel().forEach(i -> {
-            for (int j = i + 1; j < n; j++) {
-                double dist = geoCalculator.haversineDistance(locations.get(i), locations.get(j));
-                distances[i][j] = distances[j][i] = dist;
-            }
-        });
-
-        return distances;
-    }
-
-    private double[][] buildTimeMatrix(List<Location> locations) {
-        int n = locations.size();
-        double[][] times = new double[n][n];
-
-        IntStream.range(0, n).parallel().forEach(i -> {
-            for (int j = i + 1; j < n; j++) {
-                double dist = geoCalculator.haversineDistance(locations.get(i), locations.get(j));
-                double time = (dist / AVERAGE_SPEED_KM_HR) * MINUTES_PER_HOUR;
-                times[i][j] = times[j][i] = time;
-            }
-        });
+    private void addOrderLocation(
+            List<Location> locations,
+            Map<Integer, DistanceMatrix.LocationMetadata> metadata,
+            OrderInfo order
+    ) {
+        metadata.put(locations.size(), DistanceMatrix.LocationMetadata.builder()
+                .id(order.getRestaurantId())
+                .orderId(order.getOrderId())
+                .type(RouteStep.LocationType.RESTAURANT_PICKUP)
+                .build());
+        locations.add(order.getRestaurantLocation());
 
-        return times;
+        metadata.put(locations.size(), DistanceMatrix.LocationMetadata.builder()
+                .id(order.getOrderId())
+                .orderId(order.getOrderId())
+                .type(RouteStep.LocationType.CUSTOMER_DELIVERY)
+                .build());
+        locations.add(order.getDeliveryLocation());
     }
 }
-
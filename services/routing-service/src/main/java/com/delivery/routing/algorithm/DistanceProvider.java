@@ -0,0 +1,23 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.common.domain.Location;
+import com.delivery.routing.domain.DistanceMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public interface DistanceProvider {
+
+    float[] packedDistances(List<Location> locations);
+
+    float[] extend(float[] packedDistances, List<Location> locations, int firstNewRow);
+
+    default float[] distancesFrom(Location origin, List<Location> targets) {
+        List<Location> locations = new ArrayList<>(targets);
+        locations.add(origin);
+        int row = targets.size();
+        float[] distances = extend(new float[DistanceMatrix.packedLength(row)], locations, row);
+        return Arrays.copyOfRange(distances, DistanceMatrix.rowOffset(row), distances.length);
+    }
+}
@@ -0,0 +1,88 @@
+package com.delivery.routing.algorithm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DpTablePool {
+    private final int poolSize;
+    private final int maxRetainedCells;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Tables> idle = new ConcurrentLinkedDeque<>();
+
+    public DpTablePool(
+            @Value("${routing.optimization.dp-table-pool-size:2}") int poolSize,
+            @Value("${routing.optimization.dp-table-max-retained-cells:8000000}") int maxRetainedCells
+    ) {
+        this.poolSize = Math.max(1, poolSize);
+        this.maxRetainedCells = maxRetainedCells;
+        this.permits = new Semaphore(this.poolSize, true);
+    }
+
+    public int maxRetainedCells() {
+        return maxRetainedCells;
+    }
+
+    public Tables acquire(int cells) {
+        permits.acquireUninterruptibly();
+        return takeIdle(cells);
+    }
+
+    public Optional<Tables> tryAcquire(int cells, long deadlineNanos) {
+        try {
+            if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        return Optional.of(takeIdle(cells));
+    }
+
+    private Tables takeIdle(int cells) {
+        for (Tables tables : idle) {
+            if (tables.capacity() >= cells && idle.removeFirstOccurrence(tables)) {
+                return tables;
+            }
+        }
+        return new Tables(cells);
+    }
+
+    public void release(Tables tables) {
+        if (tables.capacity() <= maxRetainedCells) {
+            idle.offerFirst(tables);
+            while (idle.size() > poolSize) {
+                idle.pollLast();
+            }
+        }
+        permits.release();
+    }
+
+    public static final class Tables {
+        private final float[] cost;
+        private final byte[] parent;
+
+        private Tables(int cells) {
+            this.cost = new float[cells];
+            this.parent = new byte[cells];
+        }
+
+        public float[] cost() {
+            return cost;
+        }
+
+        public byte[] parent() {
+            return parent;
+        }
+
+        public int capacity() {
+            return cost.length;
+        }
+    }
+}
@@ -1,11 +0,0 @@
-package com.delivery.routing.algorithm;
-
-import lombok.Value;
-
-@Value
-public class Edge {
-    int from;
-    int to;
-    double weight;
-}
-
@@ -0,0 +1,59 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.common.domain.Location;
+import com.delivery.common.util.GeoPoints;
+import com.delivery.routing.domain.DistanceMatrix;
+import com.delivery.routing.util.GeoCalculator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "routing.distance.provider", havingValue = "HAVERSINE", matchIfMissing = true)
+@RequiredArgsConstructor
+public class HaversineDistanceProvider implements DistanceProvider {
+    private final GeoCalculator geoCalculator;
+    private final LegDistanceCache legDistanceCache;
+
+    @Override
+    public float[] packedDistances(List<Location> locations) {
+        if (legDistanceCache.isEnabled()) {
+            float[] distances = new float[DistanceMatrix.packedLength(locations.size())];
+            return legDistanceCache.fillRows(distances, locations, 1, rowFiller(locations));
+        }
+
+        double[] exact = geoCalculator.haversineLowerTriangle(locations);
+        float[] distances = new float[exact.length];
+        for (int i = 0; i < exact.length; i++) {
+            distances[i] = (float) exact[i];
+        }
+        return distances;
+    }
+
+    @Override
+    public float[] extend(float[] packedDistances, List<Location> locations, int firstNewRow) {
+        float[] distances = Arrays.copyOf(packedDistances, DistanceMatrix.packedLength(locations.size()));
+        if (legDistanceCache.isEnabled()) {
+            return legDistanceCache.fillRows(distances, locations, firstNewRow, rowFiller(locations));
+        }
+
+        LegDistanceCache.RowFiller rows = rowFiller(locations);
+        double[] row = new double[locations.size()];
+        for (int i = firstNewRow; i < locations.size(); i++) {
+            rows.fillRow(i, row);
+            int offset = DistanceMatrix.rowOffset(i);
+            for (int j = 0; j < i; j++) {
+                distances[offset + j] = (float) row[j];
+            }
+        }
+        return distances;
+    }
+
+    private LegDistanceCache.RowFiller rowFiller(List<Location> locations) {
+        GeoPoints points = GeoPoints.of(locations);
+        return (row, distances) -> geoCalculator.haversineRow(points, row, distances);
+    }
+}
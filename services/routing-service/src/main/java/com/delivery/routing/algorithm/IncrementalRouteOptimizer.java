@@ -0,0 +1,162 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+public class IncrementalRouteOptimizer {
+    private static final int ABSENT = -1;
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+
+    private final int maxRepairRounds;
+
+    public IncrementalRouteOptimizer(@Value("${routing.optimization.incremental-repair-rounds:4}") int maxRepairRounds) {
+        this.maxRepairRounds = maxRepairRounds;
+    }
+
+    public int[] insert(int[] path, int pickup, int delivery, DistanceMatrix matrix) {
+        double bestCost = Double.MAX_VALUE;
+        int bestPickupGap = ABSENT;
+        int bestDeliveryGap = ABSENT;
+        double bestPickupDetour = Double.MAX_VALUE;
+        int bestPickupDetourGap = ABSENT;
+
+        for (int gap = 1; gap <= path.length; gap++) {
+            double together = matrix.getDistance(path[gap - 1], pickup) + matrix.getDistance(pickup, delivery);
+            if (gap < path.length) {
+                together += matrix.getDistance(delivery, path[gap]) - matrix.getDistance(path[gap - 1], path[gap]);
+            }
+            if (together < bestCost) {
+                bestCost = together;
+                bestPickupGap = gap;
+                bestDeliveryGap = gap;
+            }
+
+            if (bestPickupDetourGap != ABSENT) {
+                double split = bestPickupDetour + detour(path, gap, delivery, matrix);
+                if (split < bestCost) {
+                    bestCost = split;
+                    bestPickupGap = bestPickupDetourGap;
+                    bestDeliveryGap = gap;
+                }
+            }
+
+            double pickupDetour = detour(path, gap, pickup, matrix);
+            if (pickupDetour < bestPickupDetour) {
+                bestPickupDetour = pickupDetour;
+                bestPickupDetourGap = gap;
+            }
+        }
+
+        int[] inserted = new int[path.length + 2];
+        System.arraycopy(path, 0, inserted, 0, bestPickupGap);
+        inserted[bestPickupGap] = pickup;
+        System.arraycopy(path, bestPickupGap, inserted, bestPickupGap + 1, bestDeliveryGap - bestPickupGap);
+        inserted[bestDeliveryGap + 1] = delivery;
+        System.arraycopy(path, bestDeliveryGap, inserted, bestDeliveryGap + 2, path.length - bestDeliveryGap);
+        return inserted;
+    }
+
+    public int[] repair(int[] path, DistanceMatrix matrix) {
+        int[] current = path.clone();
+        int[] position = new int[matrix.size()];
+
+        for (int round = 0; round < maxRepairRounds; round++) {
+            boolean improved = false;
+            for (int i = 1; i < current.length; i++) {
+                indexPositions(current, position);
+                improved |= relocate(current, i, position, matrix);
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        return current;
+    }
+
+    private boolean relocate(int[] path, int from, int[] position, DistanceMatrix matrix) {
+        int node = path[from];
+        int last = path.length - 1;
+        double removalSaving = detour(path, from, node, matrix, true);
+
+        int lowest = 1;
+        int highest = last;
+        if (isPickup(node) && position[node + 1] != ABSENT) {
+            highest = position[node + 1] - 1;
+        } else if (isDelivery(node) && position[node - 1] != ABSENT) {
+            lowest = position[node - 1] + 1;
+        }
+
+        int bestTarget = ABSENT;
+        double bestGain = IMPROVEMENT_EPSILON;
+        for (int target = lowest; target <= highest; target++) {
+            if (target == from) {
+                continue;
+            }
+            double gain = removalSaving - insertionCostAfterRemoval(path, from, target, node, matrix);
+            if (gain > bestGain) {
+                bestGain = gain;
+                bestTarget = target;
+            }
+        }
+
+        if (bestTarget == ABSENT) {
+            return false;
+        }
+        move(path, from, bestTarget);
+        return true;
+    }
+
+    private double insertionCostAfterRemoval(int[] path, int from, int target, int node, DistanceMatrix matrix) {
+        int before = target <= from ? path[target - 1] : path[target];
+        int after = target < from ? path[target] : target + 1 < path.length ? path[target + 1] : ABSENT;
+
+        double cost = matrix.getDistance(before, node);
+        if (after != ABSENT) {
+            cost += matrix.getDistance(node, after) - matrix.getDistance(before, after);
+        }
+        return cost;
+    }
+
+    private double detour(int[] path, int index, int node, DistanceMatrix matrix, boolean inPlace) {
+        int before = path[index - 1];
+        int afterIndex = inPlace ? index + 1 : index;
+        double detour = matrix.getDistance(before, node);
+        if (afterIndex < path.length) {
+            detour += matrix.getDistance(node, path[afterIndex]) - matrix.getDistance(before, path[afterIndex]);
+        }
+        return detour;
+    }
+
+    private double detour(int[] path, int gap, int node, DistanceMatrix matrix) {
+        return detour(path, gap, node, matrix, false);
+    }
+
+    private void move(int[] path, int from, int to) {
+        int node = path[from];
+        if (from < to) {
+            System.arraycopy(path, from + 1, path, from, to - from);
+        } else {
+            System.arraycopy(path, to, path, to + 1, from - to);
+        }
+        path[to] = node;
+    }
+
+    private void indexPositions(int[] path, int[] position) {
+        Arrays.fill(position, ABSENT);
+        for (int i = 0; i < path.length; i++) {
+            position[path[i]] = i;
+        }
+    }
+
+    private boolean isPickup(int node) {
+        return node % 2 == 1;
+    }
+
+    private boolean isDelivery(int node) {
+        return node > 0 && node % 2 == 0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.common.domain.Location;
+import com.delivery.routing.domain.DistanceMatrix;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class LegDistanceCache {
+    private static final int MAX_PRECISION = 7;
+    private static final String CACHE_NAME = "routing.leg-distance";
+
+    private final boolean enabled;
+    private final double scale;
+    private final Cache<Leg, Float> cache;
+
+    public LegDistanceCache(
+            @Value("${routing.distance-cache.enabled:false}") boolean enabled,
+            @Value("${routing.distance-cache.maximum-size:500000}") long maximumSize,
+            @Value("${routing.distance-cache.precision:5}") int precision,
+            MeterRegistry meterRegistry
+    ) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "Distance cache precision must be between 0 and " + MAX_PRECISION + ", got: " + precision);
+        }
+
+        this.enabled = enabled;
+        this.scale = Math.pow(10, precision);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public float[] fillRows(float[] distances, List<Location> locations, int firstRow, RowFiller rows) {
+        int n = locations.size();
+        long[] points = quantize(locations);
+        double[] row = new double[n];
+        Map<Leg, Float> computed = new HashMap<>();
+
+        for (int i = firstRow; i < n; i++) {
+            int offset = DistanceMatrix.rowOffset(i);
+            boolean rowFilled = false;
+            for (int j = 0; j < i; j++) {
+                Leg leg = Leg.of(points[i], points[j]);
+                Float cached = cache.getIfPresent(leg);
+                if (cached == null) {
+                    cached = computed.get(leg);
+                }
+                if (cached == null) {
+                    if (!rowFilled) {
+                        rows.fillRow(i, row);
+                        rowFilled = true;
+                    }
+                    cached = (float) row[j];
+                    computed.put(leg, cached);
+                }
+                distances[offset + j] = cached;
+            }
+        }
+
+        cache.putAll(computed);
+        return distances;
+    }
+
+    private long[] quantize(List<Location> locations) {
+        long[] points = new long[locations.size()];
+        for (int i = 0; i < points.length; i++) {
+            Location location = locations.get(i);
+            long latitude = Math.round(location.latitude() * scale);
+            long longitude = Math.round(location.longitude() * scale);
+            points[i] = (latitude << 32) | (longitude & 0xFFFFFFFFL);
+        }
+        return points;
+    }
+
+    @FunctionalInterface
+    public interface RowFiller {
+        void fillRow(int row, double[] distances);
+    }
+
+    private record Leg(long from, long to) {
+        private static Leg of(long a, long b) {
+            return a <= b ? new Leg(a, b) : new Leg(b, a);
+        }
+    }
+}
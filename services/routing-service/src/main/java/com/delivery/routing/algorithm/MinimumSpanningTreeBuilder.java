@@ -3,64 +3,56 @@ package com.delivery.routing.algorithm;
 import com.delivery.routing.domain.DistanceMatrix;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.Arrays;
 
 @Component
 public class MinimumSpanningTreeBuilder {
 
-    public List<Edge> buildMST(DistanceMatrix matrix) {
+    public static final int NO_PARENT = -1;
+
+    public int[] buildMST(DistanceMatrix matrix) {
         int n = matrix.getLocations().size();
-        PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingDouble(Edge::getWeight));
+        double[] key = new double[n];
+        int[] parent = new int[n];
         boolean[] inMST = new boolean[n];
-        List<Edge> mst = new ArrayList<>();
 
-        initializePriorityQueue(pq, matrix, n);
-        inMST[0] = true;
+        Arrays.fill(key, Double.MAX_VALUE);
+        Arrays.fill(parent, NO_PARENT);
+        key[0] = 0;
 
-        buildMSTFromQueue(pq, inMST, mst, matrix, n);
+        for (int added = 0; added < n; added++) {
+            int vertex = closestVertexOutsideTree(key, inMST);
+            inMST[vertex] = true;
+            relaxKeys(matrix, key, parent, inMST, vertex);
+        }
 
-        return mst;
+        return parent;
     }
 
-    private void initializePriorityQueue(PriorityQueue<Edge> pq, DistanceMatrix matrix, int n) {
-        for (int i = 1; i < n; i++) {
-            pq.offer(new Edge(0, i, matrix.getDistance(0, i)));
+    private int closestVertexOutsideTree(double[] key, boolean[] inMST) {
+        int closest = -1;
+        double closestKey = Double.MAX_VALUE;
+
+        for (int v = 0; v < key.length; v++) {
+            if (!inMST[v] && (closest == -1 || key[v] < closestKey)) {
+                closest = v;
+                closestKey = key[v];
+            }
         }
+        return closest;
     }
 
-    private void buildMSTFromQueue(
-            PriorityQueue<Edge> pq,
-            boolean[] inMST,
-            List<Edge> mst,
-            DistanceMatrix matrix,
-            int n
-    ) {
-        while (!pq.isEmpty() && mst.size() < n - 1) {
-            Edge edge = pq.poll();
-            if (inMST[edge.getTo()]) {
+    private void relaxKeys(DistanceMatrix matrix, double[] key, int[] parent, boolean[] inMST, int vertex) {
+        for (int v = 0; v < key.length; v++) {
+            if (inMST[v]) {
                 continue;
             }
 
-            mst.add(edge);
-            int v = edge.getTo();
-            inMST[v] = true;
-
-            addNewEdgesToQueue(pq, inMST, matrix, v, n);
-        }
-    }
-
-    private void addNewEdgesToQueue(
-            PriorityQueue<Edge> pq,
-            boolean[] inMST,
-            DistanceMatrix matrix,
-            int vertex,
-            int n
-    ) {
-        for (int i = 0; i < n; i++) {
-            if (!inMST[i]) {
-                pq.offer(new Edge(vertex, i, matrix.getDistance(vertex, i)));
+            double weight = matrix.getDistance(vertex, v);
+            if (weight < key[v]) {
+                key[v] = weight;
+                parent[v] = vertex;
             }
         }
     }
 }
-
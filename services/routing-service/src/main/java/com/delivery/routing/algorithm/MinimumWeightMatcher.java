@@ -0,0 +1,157 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MinimumWeightMatcher {
+
+    private static final double WEIGHT_SCALE = 1_000_000.0;
+    private static final double IMPROVEMENT_THRESHOLD = -1e-9;
+    private static final int MAX_IMPROVEMENT_PASSES = 50;
+
+    private final int exactMaxVertices;
+
+    public enum Strategy {
+        GREEDY,
+        GREEDY_IMPROVED,
+        EXACT
+    }
+
+    public MinimumWeightMatcher(@Value("${routing.optimization.exact-matching-max-vertices:30}") int exactMaxVertices) {
+        this.exactMaxVertices = exactMaxVertices;
+    }
+
+    public int[] match(int[] vertices, DistanceMatrix matrix, Strategy strategy) {
+        if (vertices.length == 0) {
+            return vertices;
+        }
+
+        return switch (strategy) {
+            case GREEDY -> greedyMatching(vertices, matrix);
+            case GREEDY_IMPROVED -> improvePairs(greedyMatching(vertices, matrix), matrix);
+            case EXACT -> vertices.length <= exactMaxVertices
+                    ? exactMatching(vertices, matrix)
+                    : improvePairs(greedyMatching(vertices, matrix), matrix);
+        };
+    }
+
+    private int[] greedyMatching(int[] vertices, DistanceMatrix matrix) {
+        int[] pairs = new int[vertices.length];
+        boolean[] matched = new boolean[vertices.length];
+        int pairCount = 0;
+
+        for (int i = 0; i < vertices.length; i++) {
+            if (matched[i]) {
+                continue;
+            }
+
+            int bestMatch = findBestMatch(vertices, matched, i, matrix);
+
+            if (bestMatch != -1) {
+                pairs[pairCount++] = vertices[i];
+                pairs[pairCount++] = vertices[bestMatch];
+                matched[i] = true;
+                matched[bestMatch] = true;
+            }
+        }
+
+        return pairs;
+    }
+
+    private int findBestMatch(int[] vertices, boolean[] matched, int currentIndex, DistanceMatrix matrix) {
+        int bestMatch = -1;
+        double bestWeight = Double.MAX_VALUE;
+
+        for (int j = currentIndex + 1; j < vertices.length; j++) {
+            if (matched[j]) {
+                continue;
+            }
+
+            double weight = matrix.getDistance(vertices[currentIndex], vertices[j]);
+            if (weight < bestWeight) {
+                bestWeight = weight;
+                bestMatch = j;
+            }
+        }
+
+        return bestMatch;
+    }
+
+    private int[] improvePairs(int[] pairs, DistanceMatrix matrix) {
+        boolean improved = true;
+        int pass = 0;
+
+        while (improved && pass++ < MAX_IMPROVEMENT_PASSES) {
+            improved = false;
+            for (int p = 0; p < pairs.length; p += 2) {
+                for (int q = p + 2; q < pairs.length; q += 2) {
+                    improved |= exchangePartners(pairs, p, q, matrix);
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    private boolean exchangePartners(int[] pairs, int p, int q, DistanceMatrix matrix) {
+        int a = pairs[p];
+        int b = pairs[p + 1];
+        int c = pairs[q];
+        int d = pairs[q + 1];
+
+        double current = matrix.getDistance(a, b) + matrix.getDistance(c, d);
+        double crossed = matrix.getDistance(a, c) + matrix.getDistance(b, d);
+        double swapped = matrix.getDistance(a, d) + matrix.getDistance(b, c);
+
+        if (crossed - current < IMPROVEMENT_THRESHOLD && crossed <= swapped) {
+            pairs[p + 1] = c;
+            pairs[q] = b;
+            return true;
+        }
+        if (swapped - current < IMPROVEMENT_THRESHOLD) {
+            pairs[p + 1] = d;
+            pairs[q + 1] = b;
+            return true;
+        }
+        return false;
+    }
+
+    private int[] exactMatching(int[] vertices, DistanceMatrix matrix) {
+        int k = vertices.length;
+        int edgeCount = k * (k - 1) / 2;
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        long[] scaled = new long[edgeCount];
+        long maxScaled = 0;
+
+        int edge = 0;
+        for (int i = 0; i < k; i++) {
+            for (int j = i + 1; j < k; j++) {
+                from[edge] = i;
+                to[edge] = j;
+                scaled[edge] = Math.round(matrix.getDistance(vertices[i], vertices[j]) * WEIGHT_SCALE);
+                maxScaled = Math.max(maxScaled, scaled[edge]);
+                edge++;
+            }
+        }
+
+        long[] weights = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            weights[e] = maxScaled + 1 - scaled[e];
+        }
+
+        int[] mates = BlossomMatching.maxWeightMaxCardinality(k, from, to, weights);
+
+        int[] pairs = new int[k];
+        int pairCount = 0;
+        for (int i = 0; i < k; i++) {
+            if (mates[i] > i) {
+                pairs[pairCount++] = vertices[i];
+                pairs[pairCount++] = vertices[mates[i]];
+            }
+        }
+        return pairs;
+    }
+}
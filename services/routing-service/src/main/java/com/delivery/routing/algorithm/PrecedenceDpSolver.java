@@ -0,0 +1,282 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import com.delivery.routing.exception.RouteOptimizationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+@Component
+public class PrecedenceDpSolver {
+    private final DpTablePool tablePool;
+    private final int maxOrders;
+
+    private static final int MAX_ORDERS = 14;
+
+    private static final float UNREACHABLE = Float.MAX_VALUE;
+    private static final byte FROM_START = -1;
+    private static final int NOT_VISITED = 0;
+    private static final int PICKED_UP = 1;
+    private static final int DELIVERED = 2;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    private static final int DEADLINE_CHECK_MASK = (1 << 12) - 1;
+    private static final double INITIAL_NANOS_PER_TRANSITION = 20.0;
+    private static final double CALIBRATION_WEIGHT = 0.2;
+
+    private volatile double nanosPerTransition = INITIAL_NANOS_PER_TRANSITION;
+
+    public PrecedenceDpSolver(DpTablePool tablePool) {
+        this.tablePool = tablePool;
+        this.maxOrders = largestRetainedOrderCount(tablePool.maxRetainedCells());
+    }
+
+    public int maxOrders() {
+        return maxOrders;
+    }
+
+    public int[] solve(DistanceMatrix matrix) {
+        return solve(matrix, TimeWindowTable.unconstrained(matrix.getLocations().size()));
+    }
+
+    public int[] solve(DistanceMatrix matrix, TimeWindowTable windows) {
+        int orders = orderCount(matrix);
+        if (orders == 0) {
+            return new int[]{0};
+        }
+
+        DpTablePool.Tables tables = tablePool.acquire(cellCount(orders));
+        try {
+            return search(matrix, windows, tables, orders, NO_DEADLINE).orElseThrow();
+        } finally {
+            tablePool.release(tables);
+        }
+    }
+
+    public Optional<int[]> solveWithin(DistanceMatrix matrix, TimeWindowTable windows, long deadlineNanos) {
+        int orders = orderCount(matrix);
+        if (orders == 0) {
+            return Optional.of(new int[]{0});
+        }
+
+        if (estimatedNanos(orders) > deadlineNanos - System.nanoTime()) {
+            return Optional.empty();
+        }
+
+        Optional<DpTablePool.Tables> tables = tablePool.tryAcquire(cellCount(orders), deadlineNanos);
+        if (tables.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return search(matrix, windows, tables.get(), orders, deadlineNanos);
+        } finally {
+            tablePool.release(tables.get());
+        }
+    }
+
+    private int orderCount(DistanceMatrix matrix) {
+        int orders = (matrix.getLocations().size() - 1) / 2;
+        if (orders > maxOrders) {
+            throw new RouteOptimizationException(
+                    "Precedence DP supports at most " + maxOrders + " orders, got: " + orders);
+        }
+        return orders;
+    }
+
+    private int largestRetainedOrderCount(int maxRetainedCells) {
+        int orders = 0;
+        while (orders < MAX_ORDERS && cellCount(orders + 1) <= maxRetainedCells) {
+            orders++;
+        }
+        return orders;
+    }
+
+    private long estimatedNanos(int orders) {
+        return (long) (transitionCount(orders) * nanosPerTransition);
+    }
+
+    private void calibrate(int orders, long elapsedNanos) {
+        double observed = elapsedNanos / transitionCount(orders);
+        nanosPerTransition += CALIBRATION_WEIGHT * (observed - nanosPerTransition);
+    }
+
+    private double transitionCount(int orders) {
+        return (double) cellCount(orders) * orders;
+    }
+
+    private int cellCount(int orders) {
+        return powersOfThree(orders)[orders] * orders;
+    }
+
+    private Optional<int[]> search(
+            DistanceMatrix matrix,
+            TimeWindowTable windows,
+            DpTablePool.Tables tables,
+            int orders,
+            long deadlineNanos
+    ) {
+        int[] pow3 = powersOfThree(orders);
+        int stateCount = pow3[orders];
+
+        float[] cost = tables.cost();
+        byte[] parent = tables.parent();
+        Arrays.fill(cost, 0, stateCount * orders, UNREACHABLE);
+
+        long relaxStart = System.nanoTime();
+        seedFromStart(cost, parent, matrix, windows, pow3, orders);
+        if (!relaxReachableStates(cost, parent, matrix, windows, pow3, orders, deadlineNanos)) {
+            return Optional.empty();
+        }
+        calibrate(orders, System.nanoTime() - relaxStart);
+
+        int finalState = stateCount - 1;
+        int bestLast = findBestLast(cost, finalState, orders);
+        return Optional.of(reconstructPath(parent, pow3, finalState, bestLast, orders));
+    }
+
+    private int[] powersOfThree(int orders) {
+        int[] pow3 = new int[orders + 1];
+        pow3[0] = 1;
+        for (int i = 1; i <= orders; i++) {
+            pow3[i] = pow3[i - 1] * 3;
+        }
+        return pow3;
+    }
+
+    private void seedFromStart(
+            float[] cost,
+            byte[] parent,
+            DistanceMatrix matrix,
+            TimeWindowTable windows,
+            int[] pow3,
+            int orders
+    ) {
+        float startDeparture = departure(windows, 0, 0);
+        for (int order = 0; order < orders; order++) {
+            int node = pickupNode(order);
+            float arrival = startDeparture + (float) matrix.getTime(0, node, startDeparture);
+            if (arrival > windows.latest()[node]) {
+                continue;
+            }
+
+            int cell = pow3[order] * orders + order;
+            cost[cell] = departure(windows, node, arrival);
+            parent[cell] = FROM_START;
+        }
+    }
+
+    private boolean relaxReachableStates(
+            float[] cost,
+            byte[] parent,
+            DistanceMatrix matrix,
+            TimeWindowTable windows,
+            int[] pow3,
+            int orders,
+            long deadlineNanos
+    ) {
+        float[] latest = windows.latest();
+        int[] digits = new int[orders];
+        int stateCount = pow3[orders];
+
+        for (int state = 1; state < stateCount; state++) {
+            if ((state & DEADLINE_CHECK_MASK) == 0 && pastDeadline(deadlineNanos)) {
+                return false;
+            }
+
+            incrementBaseThree(digits);
+            int row = state * orders;
+
+            for (int last = 0; last < orders; last++) {
+                if (digits[last] == NOT_VISITED) {
+                    continue;
+                }
+
+                float current = cost[row + last];
+                if (current == UNREACHABLE) {
+                    continue;
+                }
+
+                int lastNode = nodeFor(last, digits[last]);
+                for (int next = 0; next < orders; next++) {
+                    if (digits[next] == DELIVERED) {
+                        continue;
+                    }
+
+                    int nextNode = nodeFor(next, digits[next] + 1);
+                    float arrival = current + (float) matrix.getTime(lastNode, nextNode, current);
+                    if (arrival > latest[nextNode]) {
+                        continue;
+                    }
+
+                    int cell = (state + pow3[next]) * orders + next;
+                    float newCost = departure(windows, nextNode, arrival);
+                    if (newCost < cost[cell]) {
+                        cost[cell] = newCost;
+                        parent[cell] = (byte) last;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean pastDeadline(long deadlineNanos) {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    private void incrementBaseThree(int[] digits) {
+        int position = 0;
+        while (digits[position] == DELIVERED) {
+            digits[position++] = NOT_VISITED;
+        }
+        digits[position]++;
+    }
+
+    private int findBestLast(float[] cost, int finalState, int orders) {
+        int row = finalState * orders;
+        int bestLast = -1;
+        float bestCost = UNREACHABLE;
+
+        for (int last = 0; last < orders; last++) {
+            if (cost[row + last] < bestCost) {
+                bestCost = cost[row + last];
+                bestLast = last;
+            }
+        }
+
+        if (bestLast == -1) {
+            throw new RouteOptimizationException(
+                    "Precedence DP found no pickup/delivery sequence within the time windows");
+        }
+        return bestLast;
+    }
+
+    private int[] reconstructPath(byte[] parent, int[] pow3, int finalState, int bestLast, int orders) {
+        int[] path = new int[2 * orders + 1];
+        int state = finalState;
+        int current = bestLast;
+
+        for (int position = 2 * orders; position > 0; position--) {
+            int digit = (state / pow3[current]) % 3;
+            path[position] = nodeFor(current, digit);
+            int previous = parent[state * orders + current];
+            state -= pow3[current];
+            current = previous;
+        }
+
+        path[0] = 0;
+        return path;
+    }
+
+    private float departure(TimeWindowTable windows, int node, float arrival) {
+        return Math.max(arrival, windows.earliest()[node]) + windows.serviceTime()[node];
+    }
+
+    private int nodeFor(int order, int digit) {
+        return digit == PICKED_UP ? pickupNode(order) : pickupNode(order) + 1;
+    }
+
+    private int pickupNode(int order) {
+        return 2 * order + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+public class PrecedenceRepairer {
+
+    private static final int END = -1;
+
+    public int[] repair(int[] tour, DistanceMatrix matrix) {
+        int n = matrix.getLocations().size();
+        int[] position = new int[n];
+        Arrays.fill(position, END);
+        for (int i = 0; i < tour.length; i++) {
+            position[tour[i]] = i;
+        }
+
+        int[] next = new int[n];
+        int[] deferred = new int[tour.length];
+        int deferredCount = 0;
+        int previous = END;
+        int head = END;
+
+        for (int node : tour) {
+            if (isDelivery(node) && position[node - 1] > position[node]) {
+                deferred[deferredCount++] = node;
+                continue;
+            }
+            if (previous == END) {
+                head = node;
+            } else {
+                next[previous] = node;
+            }
+            previous = node;
+        }
+        next[previous] = END;
+
+        for (int d = 0; d < deferredCount; d++) {
+            insertCheapestAfterPickup(next, deferred[d], matrix);
+        }
+
+        return flatten(next, head, tour.length);
+    }
+
+    private void insertCheapestAfterPickup(int[] next, int delivery, DistanceMatrix matrix) {
+        int bestAfter = delivery - 1;
+        double bestCost = Double.MAX_VALUE;
+
+        for (int after = delivery - 1; after != END; after = next[after]) {
+            double cost = matrix.getDistance(after, delivery);
+            if (next[after] != END) {
+                cost += matrix.getDistance(delivery, next[after]) - matrix.getDistance(after, next[after]);
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestAfter = after;
+            }
+        }
+
+        next[delivery] = next[bestAfter];
+        next[bestAfter] = delivery;
+    }
+
+    private int[] flatten(int[] next, int head, int length) {
+        int[] repaired = new int[length];
+        int index = 0;
+        for (int node = head; node != END; node = next[node]) {
+            repaired[index++] = node;
+        }
+        return repaired;
+    }
+
+    private boolean isDelivery(int node) {
+        return node > 0 && node % 2 == 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.SpeedProfile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+public final class SpeedProfileLoader {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String DEFAULT_ZONE = "default";
+    private static final int BOUNDS_PER_ZONE = 4;
+
+    private SpeedProfileLoader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static SpeedProfile load(Path path) throws IOException {
+        double[] bounds = new double[0];
+        float[] zoneSpeeds = new float[0];
+        float[] defaultSpeeds = null;
+
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+
+                String[] record = WHITESPACE.split(line);
+                if (DEFAULT_ZONE.equals(record[0])) {
+                    defaultSpeeds = speeds(record, 1, path);
+                    continue;
+                }
+
+                int zone = bounds.length / BOUNDS_PER_ZONE;
+                bounds = Arrays.copyOf(bounds, bounds.length + BOUNDS_PER_ZONE);
+                for (int i = 0; i < BOUNDS_PER_ZONE; i++) {
+                    bounds[zone * BOUNDS_PER_ZONE + i] = Double.parseDouble(record[i + 1]);
+                }
+                zoneSpeeds = Arrays.copyOf(zoneSpeeds, zoneSpeeds.length + SpeedProfile.BUCKETS_PER_DAY);
+                System.arraycopy(speeds(record, BOUNDS_PER_ZONE + 1, path), 0,
+                        zoneSpeeds, zone * SpeedProfile.BUCKETS_PER_DAY, SpeedProfile.BUCKETS_PER_DAY);
+            }
+
+            if (defaultSpeeds == null) {
+                throw new IOException("Speed profile file " + path + " has no default zone");
+            }
+            return SpeedProfile.of(bounds, zoneSpeeds, defaultSpeeds);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed speed profile file " + path + ": " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid speed profile file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static float[] speeds(String[] record, int first, Path path) throws IOException {
+        if (record.length - first != SpeedProfile.BUCKETS_PER_DAY) {
+            throw new IOException("Zone " + record[0] + " in " + path + " needs "
+                    + SpeedProfile.BUCKETS_PER_DAY + " speeds, got " + (record.length - first));
+        }
+        float[] speeds = new float[SpeedProfile.BUCKETS_PER_DAY];
+        for (int i = 0; i < speeds.length; i++) {
+            speeds[i] = Float.parseFloat(record[first + i]);
+        }
+        return speeds;
+    }
+}
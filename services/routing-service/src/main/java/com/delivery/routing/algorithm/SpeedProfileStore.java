@@ -0,0 +1,82 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.SpeedProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+@Component
+@Slf4j
+public class SpeedProfileStore {
+    private static final double DEFAULT_SPEED_KM_HR = 20.0;
+    private static final double SECONDS_PER_MINUTE = 60.0;
+
+    private final Path path;
+    private final Clock clock;
+    private volatile SpeedProfile profile;
+    private volatile FileTime loadedModifiedTime;
+
+    public SpeedProfileStore(
+            @Value("${routing.speed-profile.path:}") String path,
+            @Value("${routing.speed-profile.time-zone:UTC}") String timeZone
+    ) {
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.clock = Clock.system(ZoneId.of(timeZone));
+
+        if (this.path == null) {
+            this.profile = SpeedProfile.constant(DEFAULT_SPEED_KM_HR);
+            return;
+        }
+        try {
+            reload();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load speed profile from " + path, e);
+        }
+    }
+
+    public SpeedProfile current() {
+        return profile;
+    }
+
+    public double currentMinuteOfDay() {
+        return LocalTime.now(clock).toSecondOfDay() / SECONDS_PER_MINUTE;
+    }
+
+    public int currentBucket() {
+        if (profile.isTimeInvariant()) {
+            return 0;
+        }
+        return (int) (currentMinuteOfDay() / SpeedProfile.BUCKET_MINUTES);
+    }
+
+    @Scheduled(fixedDelayString = "${routing.speed-profile.reload-interval-ms:60000}")
+    public void reloadIfModified() {
+        if (path == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(path).equals(loadedModifiedTime)) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Keeping previous speed profile, reload of {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    private void reload() throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(path);
+        SpeedProfile loaded = SpeedProfileLoader.load(path);
+        profile = loaded;
+        loadedModifiedTime = modifiedTime;
+        log.info("Loaded speed profile {} with {} zones", path, loaded.zoneCount());
+    }
+}
@@ -1,20 +1,52 @@
 package com.delivery.routing.algorithm;
 
 import com.delivery.routing.domain.*;
+import com.delivery.routing.exception.RouteOptimizationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class TSPOptimizer {
     private final MinimumSpanningTreeBuilder mstBuilder;
+    private final MinimumWeightMatcher matcher;
     private final TwoOptOptimizer twoOptOptimizer;
+    private final PrecedenceDpSolver precedenceDpSolver;
+    private final TimeWindowInsertionHeuristic timeWindowInsertionHeuristic;
+    private final PrecedenceRepairer precedenceRepairer;
+    private final IncrementalRouteOptimizer incrementalRouteOptimizer;
+    private final ConstructionHeuristics constructionHeuristics;
+    private final ExecutorService routingExecutorService;
+
+    @Value("${routing.optimization.local-search-mode:FIRST}")
+    private TwoOptOptimizer.ImprovementMode localSearchMode;
+
+    @Value("${routing.optimization.matching-strategy:EXACT}")
+    private MinimumWeightMatcher.Strategy matchingStrategy;
+
+    @Value("${routing.optimization.portfolio-restarts:4}")
+    private int portfolioRestarts;
+
+    @Value("${routing.optimization.portfolio-gap:0.05}")
+    private double portfolioGap;
 
     private static final int TWO_OPT_MAX_ITERATIONS = 100;
+    private static final int ANYTIME_PERTURBATION_ROUNDS = 200;
+    private static final int PERTURBED_ORDERS = 2;
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+    private static final double DP_FLOAT_TOLERANCE = 1e-5;
 
     public OptimizedRoute solveExact(
             DistanceMatrix matrix,
@@ -22,26 +54,123 @@ public class TSPOptimizer {
             DeliveryBatch batch
     ) {
         long startTime = System.currentTimeMillis();
+
+        log.info("Solving exact precedence-constrained TSP for {} orders", batch.getOrderCount());
+
+        List<Integer> path = toList(precedenceDpSolver.solve(matrix));
+
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
+
+        long optimizationTime = System.currentTimeMillis() - startTime;
+
+        return buildOptimizedRoute(
+                batch,
+                steps,
+                path,
+                matrix,
+                windows,
+                metadata(batch, "EXACT_DP", optimizationTime)
+                        .provenOptimal(true)
+                        .build()
+        );
+    }
+
+    public OptimizedRoute solveHeuristic(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch
+    ) {
+        long startTime = System.currentTimeMillis();
         int n = matrix.getLocations().size();
 
-        log.info("Solving exact TSP for {} locations", n);
+        log.info("Solving heuristic TSP for {} locations", n);
+
+        int[] hamiltonianTour = buildChristofidesTour(matrix);
 
-        double[][] dp = new double[1 << n][n];
-        int[][] parent = new int[1 << n][n];
+        int[] repairedTour = precedenceRepairer.repair(hamiltonianTour, matrix);
+        double repairDistance = calculateTotalDistance(repairedTour, matrix)
+                - calculateTotalDistance(hamiltonianTour, matrix);
 
-        initializeDPArrays(dp, parent);
+        List<Integer> path = toList(improve(repairedTour, matrix));
 
-        dp[1][0] = 0;
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
 
-        performDynamicProgramming(dp, parent, matrix, n);
+        long optimizationTime = System.currentTimeMillis() - startTime;
+
+        return buildOptimizedRoute(
+                batch,
+                steps,
+                path,
+                matrix,
+                windows,
+                metadata(batch, "CHRISTOFIDES", optimizationTime)
+                        .constraintRepairDistanceKm(repairDistance)
+                        .build()
+        );
+    }
+
+    public OptimizedRoute solvePortfolio(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch,
+            long deadlineNanos
+    ) {
+        long startTime = System.currentTimeMillis();
+
+        List<PortfolioStart> starts = portfolioStarts();
+        log.info("Solving portfolio TSP for {} orders with {} strategies", batch.getOrderCount(), starts.size());
+
+        int[] mstParent = mstBuilder.buildMST(matrix);
+        double lowerBound = spanningTreeWeight(mstParent, matrix);
+        ExecutorCompletionService<PortfolioResult> completion = new ExecutorCompletionService<>(routingExecutorService);
+        List<Future<PortfolioResult>> tasks = starts.stream()
+                .map(start -> completion.submit(() -> runPortfolioStart(start, matrix, mstParent, deadlineNanos)))
+                .toList();
+
+        PortfolioResult best = null;
+        int finished = 0;
+        try {
+            while (finished < tasks.size()) {
+                Future<PortfolioResult> done =
+                        completion.poll(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                finished++;
+
+                PortfolioResult result = portfolioResult(done);
+                if (result != null && (best == null || result.distance() < best.distance())) {
+                    best = result;
+                }
+                if (best != null && best.distance() <= lowerBound * (1 + portfolioGap)) {
+                    break;
+                }
+                if (best == null && finished == tasks.size()) {
+                    throw new RouteOptimizationException("All portfolio strategies failed for batch: " + batch.getId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RouteOptimizationException("Portfolio optimization interrupted for batch: " + batch.getId(), e);
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
 
-        int finalMask = (1 << n) - 1;
-        int bestEnd = findBestEndNode(dp, finalMask, n);
+        if (best == null) {
+            log.warn("No portfolio strategy finished within budget for batch {}, using nearest neighbor", batch.getId());
+            int[] fallback = constructionHeuristics.nearestNeighbor(matrix);
+            best = new PortfolioResult(new PortfolioStart(ConstructionHeuristics.Strategy.NEAREST_NEIGHBOR, 0),
+                    fallback, calculateTotalDistance(fallback, matrix));
+        }
 
-        List<Integer> path = reconstructPath(parent, finalMask, bestEnd);
-        path = enforcePickupDeliveryConstraints(path, batch);
+        log.info("Portfolio finished {}/{} strategies, best {} at {} km (lower bound {} km)",
+                finished, tasks.size(), best.start().strategy(), best.distance(), lowerBound);
 
-        List<RouteStep> steps = convertToRouteSteps(path, matrix, batch);
+        List<Integer> path = toList(best.tour());
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
 
         long optimizationTime = System.currentTimeMillis() - startTime;
 
@@ -50,297 +179,450 @@ public class TSPOptimizer {
                 steps,
                 path,
                 matrix,
-                "EXACT_DP",
-                optimizationTime
+                windows,
+                metadata(batch, "PORTFOLIO", optimizationTime)
+                        .budgetTruncated(finished < tasks.size() && pastDeadline(deadlineNanos))
+                        .build()
         );
     }
 
-    public OptimizedRoute solveHeuristic(
+    public OptimizedRoute solveExactWithTimeWindows(
             DistanceMatrix matrix,
             Map<String, TimeWindow> timeWindows,
             DeliveryBatch batch
     ) {
         long startTime = System.currentTimeMillis();
-        int n = matrix.getLocations().size();
 
-        log.info("Solving heuristic TSP for {} locations", n);
+        log.info("Solving time-window constrained exact TSP for {} orders", batch.getOrderCount());
+
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<Integer> path = toList(precedenceDpSolver.solve(matrix, windows));
+
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
 
-        List<Edge> mst = mstBuilder.buildMST(matrix);
-        Set<Integer> oddVertices = findOddDegreeVertices(mst, n);
-        List<Edge> matching = minimumWeightPerfectMatching(oddVertices, matrix);
+        long optimizationTime = System.currentTimeMillis() - startTime;
 
-        List<Edge> eulerianGraph = new ArrayList<>(mst);
-        eulerianGraph.addAll(matching);
+        return buildOptimizedRoute(
+                batch,
+                steps,
+                path,
+                matrix,
+                windows,
+                metadata(batch, "EXACT_TW_DP", optimizationTime)
+                        .provenOptimal(true)
+                        .build()
+        );
+    }
+
+    public OptimizedRoute solveHeuristicWithTimeWindows(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch
+    ) {
+        long startTime = System.currentTimeMillis();
 
-        List<Integer> tour = findEulerianTour(eulerianGraph, n);
-        List<Integer> hamiltonianTour = convertToHamiltonian(tour);
+        log.info("Solving time-window constrained heuristic TSP for {} orders", batch.getOrderCount());
 
-        hamiltonianTour = twoOptOptimizer.optimize(hamiltonianTour, matrix, TWO_OPT_MAX_ITERATIONS);
-        hamiltonianTour = enforcePickupDeliveryConstraints(hamiltonianTour, batch);
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<Integer> path = toList(timeWindowInsertionHeuristic.solve(matrix, windows));
 
-        List<RouteStep> steps = convertToRouteSteps(hamiltonianTour, matrix, batch);
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
 
         long optimizationTime = System.currentTimeMillis() - startTime;
 
         return buildOptimizedRoute(
                 batch,
                 steps,
-                hamiltonianTour,
+                path,
                 matrix,
-                "CHRISTOFIDES",
-                optimizationTime
+                windows,
+                metadata(batch, "TW_INSERTION", optimizationTime).build()
         );
     }
 
-    private void initializeDPArrays(double[][] dp, int[][] parent) {
-        for (double[] row : dp) {
-            Arrays.fill(row, Double.MAX_VALUE);
+    public OptimizedRoute solveAnytime(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch,
+            long deadlineNanos
+    ) {
+        long startTime = System.currentTimeMillis();
+
+        log.info("Solving anytime TSP for {} orders", batch.getOrderCount());
+
+        TimeWindowTable unconstrained = TimeWindowTable.unconstrained(matrix.getLocations().size());
+        int[] best = improve(precedenceRepairer.repair(buildChristofidesTour(matrix), matrix), matrix);
+        double bestTime = unconstrained.completionTime(best, best.length, matrix);
+        Random random = ThreadLocalRandom.current();
+
+        int round = 0;
+        while (round < ANYTIME_PERTURBATION_ROUNDS && !pastDeadline(deadlineNanos)) {
+            int[] candidate = improve(perturb(best, random), matrix, deadlineNanos);
+            double time = unconstrained.completionTime(candidate, candidate.length, matrix);
+            if (time < bestTime - IMPROVEMENT_EPSILON) {
+                best = candidate;
+                bestTime = time;
+            }
+            round++;
         }
-        for (int[] row : parent) {
-            Arrays.fill(row, -1);
+
+        boolean truncated = round < ANYTIME_PERTURBATION_ROUNDS;
+        boolean optimal = false;
+        if (!truncated && batch.getOrderCount() <= precedenceDpSolver.maxOrders()) {
+            Optional<int[]> exact = precedenceDpSolver.solveWithin(matrix, unconstrained, deadlineNanos);
+            if (exact.isEmpty()) {
+                truncated = true;
+            } else if (unconstrained.completionTime(exact.get(), exact.get().length, matrix)
+                    <= bestTime + DP_FLOAT_TOLERANCE * Math.max(1, bestTime)) {
+                best = exact.get();
+                optimal = true;
+            }
         }
+
+        return buildAnytimeRoute(
+                batch,
+                best,
+                matrix,
+                TimeWindowTable.from(batch, timeWindows),
+                "ANYTIME",
+                optimal,
+                truncated,
+                startTime
+        );
     }
 
-    private void performDynamicProgramming(double[][] dp, int[][] parent, DistanceMatrix matrix, int n) {
-        for (int mask = 1; mask < (1 << n); mask++) {
-            for (int last = 0; last < n; last++) {
-                if ((mask & (1 << last)) == 0 || dp[mask][last] == Double.MAX_VALUE) {
-                    continue;
-                }
+    public OptimizedRoute solveAnytimeWithTimeWindows(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch,
+            long deadlineNanos
+    ) {
+        long startTime = System.currentTimeMillis();
 
-                for (int next = 0; next < n; next++) {
-                    if ((mask & (1 << next)) != 0) {
-                        continue;
-                    }
+        log.info("Solving anytime time-window constrained TSP for {} orders", batch.getOrderCount());
 
-                    int newMask = mask | (1 << next);
-                    double newCost = dp[mask][last] + matrix.getTime(last, next);
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        int[] best = timeWindowInsertionHeuristic.solve(matrix, windows);
 
-                    if (newCost < dp[newMask][next]) {
-                        dp[newMask][next] = newCost;
-                        parent[newMask][next] = last;
-                    }
-                }
-            }
-        }
+        boolean attempted = batch.getOrderCount() <= precedenceDpSolver.maxOrders();
+        Optional<int[]> exact = attempted
+                ? precedenceDpSolver.solveWithin(matrix, windows, deadlineNanos)
+                : Optional.empty();
+
+        return buildAnytimeRoute(
+                batch,
+                exact.orElse(best),
+                matrix,
+                windows,
+                "ANYTIME_TW",
+                exact.isPresent(),
+                attempted && exact.isEmpty(),
+                startTime
+        );
     }
 
-    private int findBestEndNode(double[][] dp, int finalMask, int n) {
-        double minCost = Double.MAX_VALUE;
-        int bestEnd = -1;
+    public OptimizedRoute solveIncremental(
+            DistanceMatrix matrix,
+            Map<String, TimeWindow> timeWindows,
+            DeliveryBatch batch,
+            int[] plannedPath,
+            Integer insertedOrder
+    ) {
+        long startTime = System.currentTimeMillis();
 
-        for (int i = 0; i < n; i++) {
-            if (dp[finalMask][i] < minCost) {
-                minCost = dp[finalMask][i];
-                bestEnd = i;
-            }
+        log.info("Incrementally re-optimizing route with {} remaining stops", plannedPath.length - 1);
+
+        int[] path = plannedPath;
+        if (insertedOrder != null) {
+            path = incrementalRouteOptimizer.insert(path, 2 * insertedOrder + 1, 2 * insertedOrder + 2, matrix);
         }
+        path = incrementalRouteOptimizer.repair(path, matrix);
+
+        List<Integer> route = toList(path);
+        TimeWindowTable windows = TimeWindowTable.from(batch, timeWindows);
+        List<RouteStep> steps = convertToRouteSteps(route, matrix, windows);
+
+        long optimizationTime = System.currentTimeMillis() - startTime;
 
-        return bestEnd;
+        return buildOptimizedRoute(
+                batch,
+                steps,
+                route,
+                matrix,
+                windows,
+                metadata(batch, "INCREMENTAL", optimizationTime).build()
+        );
     }
 
-    private Set<Integer> findOddDegreeVertices(List<Edge> mst, int n) {
-        int[] degree = new int[n];
-        for (Edge edge : mst) {
-            degree[edge.getFrom()]++;
-            degree[edge.getTo()]++;
-        }
+    private OptimizedRoute buildAnytimeRoute(
+            DeliveryBatch batch,
+            int[] tour,
+            DistanceMatrix matrix,
+            TimeWindowTable windows,
+            String algorithm,
+            boolean optimal,
+            boolean truncated,
+            long startTime
+    ) {
+        List<Integer> path = toList(tour);
+        List<RouteStep> steps = convertToRouteSteps(path, matrix, windows);
 
-        Set<Integer> oddVertices = new HashSet<>();
-        for (int i = 0; i < n; i++) {
-            if (degree[i] % 2 == 1) {
-                oddVertices.add(i);
-            }
-        }
-        return oddVertices;
+        long optimizationTime = System.currentTimeMillis() - startTime;
+
+        return buildOptimizedRoute(
+                batch,
+                steps,
+                path,
+                matrix,
+                windows,
+                metadata(batch, algorithm, optimizationTime)
+                        .provenOptimal(optimal)
+                        .budgetTruncated(truncated)
+                        .build()
+        );
     }
 
-    private List<Edge> minimumWeightPerfectMatching(Set<Integer> oddVertices, DistanceMatrix matrix) {
-        List<Edge> matching = new ArrayList<>();
-        List<Integer> vertices = new ArrayList<>(oddVertices);
-        boolean[] matched = new boolean[matrix.getLocations().size()];
+    private int[] buildChristofidesTour(DistanceMatrix matrix) {
+        return buildChristofidesTour(matrix, mstBuilder.buildMST(matrix));
+    }
 
-        for (int i = 0; i < vertices.size(); i++) {
-            if (matched[vertices.get(i)]) {
-                continue;
-            }
+    private int[] buildChristofidesTour(DistanceMatrix matrix, int[] mstParent) {
+        int n = matrix.getLocations().size();
+        int[] oddVertices = findOddDegreeVertices(mstParent, n);
+        int[] matching = matcher.match(oddVertices, matrix, matchingStrategy);
 
-            int bestMatch = findBestMatch(vertices, matched, i, matrix);
+        int[] eulerianTour = findEulerianTour(mstParent, matching);
+        return convertToHamiltonian(eulerianTour, n);
+    }
 
-            if (bestMatch != -1) {
-                int v1 = vertices.get(i);
-                int v2 = vertices.get(bestMatch);
-                matching.add(new Edge(v1, v2, matrix.getDistance(v1, v2)));
-                matched[v1] = true;
-                matched[v2] = true;
-            }
+    private List<PortfolioStart> portfolioStarts() {
+        List<PortfolioStart> starts = new ArrayList<>();
+        starts.add(new PortfolioStart(ConstructionHeuristics.Strategy.CHRISTOFIDES, 0));
+        starts.add(new PortfolioStart(ConstructionHeuristics.Strategy.NEAREST_NEIGHBOR, 0));
+        starts.add(new PortfolioStart(ConstructionHeuristics.Strategy.CHEAPEST_INSERTION, 0));
+        for (int seed = 1; seed <= portfolioRestarts; seed++) {
+            starts.add(new PortfolioStart(ConstructionHeuristics.Strategy.RANDOM_INSERTION, seed));
         }
+        return starts;
+    }
 
-        return matching;
+    private PortfolioResult runPortfolioStart(
+            PortfolioStart start,
+            DistanceMatrix matrix,
+            int[] mstParent,
+            long deadlineNanos
+    ) {
+        int[] tour = improve(construct(start, matrix, mstParent), matrix, deadlineNanos);
+        return new PortfolioResult(start, tour, calculateTotalDistance(tour, matrix));
     }
 
-    private int findBestMatch(List<Integer> vertices, boolean[] matched, int currentIndex, DistanceMatrix matrix) {
-        int bestMatch = -1;
-        double bestWeight = Double.MAX_VALUE;
+    private int[] construct(PortfolioStart start, DistanceMatrix matrix, int[] mstParent) {
+        return switch (start.strategy()) {
+            case CHRISTOFIDES -> precedenceRepairer.repair(buildChristofidesTour(matrix, mstParent), matrix);
+            case NEAREST_NEIGHBOR -> constructionHeuristics.nearestNeighbor(matrix);
+            case CHEAPEST_INSERTION -> constructionHeuristics.cheapestInsertion(matrix);
+            case RANDOM_INSERTION -> constructionHeuristics.randomInsertion(matrix, new Random(start.seed()));
+        };
+    }
 
-        for (int j = currentIndex + 1; j < vertices.size(); j++) {
-            int v2 = vertices.get(j);
-            if (matched[v2]) {
-                continue;
-            }
+    private PortfolioResult portfolioResult(Future<PortfolioResult> done) throws InterruptedException {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            log.warn("Portfolio strategy failed: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
 
-            double weight = matrix.getDistance(vertices.get(currentIndex), v2);
-            if (weight < bestWeight) {
-                bestWeight = weight;
-                bestMatch = j;
+    private double spanningTreeWeight(int[] parent, DistanceMatrix matrix) {
+        double weight = 0;
+        for (int v = 0; v < parent.length; v++) {
+            if (parent[v] != MinimumSpanningTreeBuilder.NO_PARENT) {
+                weight += matrix.getDistance(v, parent[v]);
             }
         }
+        return weight;
+    }
 
-        return bestMatch;
+    private int[] improve(int[] tour, DistanceMatrix matrix) {
+        return twoOptOptimizer.optimize(tour, matrix, TWO_OPT_MAX_ITERATIONS, localSearchMode);
     }
 
-    private List<Integer> findEulerianTour(List<Edge> edges, int n) {
-        Map<Integer, List<Integer>> adj = buildAdjacencyList(edges);
-        List<Integer> tour = new ArrayList<>();
-        dfsEulerian(0, adj, tour);
-        return tour;
+    private int[] improve(int[] tour, DistanceMatrix matrix, long deadlineNanos) {
+        return twoOptOptimizer.optimize(tour, matrix, TWO_OPT_MAX_ITERATIONS, localSearchMode, deadlineNanos);
     }
 
-    private Map<Integer, List<Integer>> buildAdjacencyList(List<Edge> edges) {
-        Map<Integer, List<Integer>> adj = new HashMap<>();
-        for (Edge edge : edges) {
-            adj.computeIfAbsent(edge.getFrom(), k -> new ArrayList<>()).add(edge.getTo());
-            adj.computeIfAbsent(edge.getTo(), k -> new ArrayList<>()).add(edge.getFrom());
+    private int[] perturb(int[] tour, Random random) {
+        int orders = (tour.length - 1) / 2;
+        int[] perturbed = tour;
+        for (int k = 0; k < PERTURBED_ORDERS; k++) {
+            perturbed = reinsertRandomly(perturbed, random.nextInt(orders), random);
         }
-        return adj;
+        return perturbed;
     }
 
-    private void dfsEulerian(int v, Map<Integer, List<Integer>> adj, List<Integer> tour) {
-        List<Integer> neighbors = adj.get(v);
-        if (neighbors != null) {
-            while (!neighbors.isEmpty()) {
-                int next = neighbors.remove(0);
-                adj.get(next).removeIf(u -> u == v);
-                dfsEulerian(next, adj, tour);
+    private int[] reinsertRandomly(int[] tour, int order, Random random) {
+        int pickup = 2 * order + 1;
+        int delivery = pickup + 1;
+        int length = tour.length;
+        int pickupPosition = 1 + random.nextInt(length - 2);
+        int deliveryPosition = pickupPosition + 1 + random.nextInt(length - 1 - pickupPosition);
+
+        int[] result = new int[length];
+        int source = 0;
+        for (int target = 0; target < length; target++) {
+            if (target == pickupPosition) {
+                result[target] = pickup;
+            } else if (target == deliveryPosition) {
+                result[target] = delivery;
+            } else {
+                while (tour[source] == pickup || tour[source] == delivery) {
+                    source++;
+                }
+                result[target] = tour[source++];
             }
         }
-        tour.add(v);
+        return result;
     }
 
-    private List<Integer> convertToHamiltonian(List<Integer> eulerianTour) {
-        List<Integer> hamiltonian = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
+    private boolean pastDeadline(long deadlineNanos) {
+        return System.nanoTime() - deadlineNanos > 0;
+    }
 
-        for (int vertex : eulerianTour) {
-            if (!visited.contains(vertex)) {
-                hamiltonian.add(vertex);
-                visited.add(vertex);
+    private int[] findOddDegreeVertices(int[] mstParent, int n) {
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            if (mstParent[v] != MinimumSpanningTreeBuilder.NO_PARENT) {
+                degree[v]++;
+                degree[mstParent[v]]++;
             }
         }
 
-        return hamiltonian;
+        return IntStream.range(0, n)
+                .filter(v -> degree[v] % 2 == 1)
+                .toArray();
     }
 
-    private List<Integer> enforcePickupDeliveryConstraints(List<Integer> tour, DeliveryBatch batch) {
-        List<Integer> constrainedTour = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
+    private int[] findEulerianTour(int[] mstParent, int[] matching) {
+        int n = mstParent.length;
+        int edgeCount = 0;
+        int[] edgeFrom = new int[n - 1 + matching.length / 2];
+        int[] edgeTo = new int[edgeFrom.length];
 
-        constrainedTour.add(tour.get(0));
-        visited.add(tour.get(0));
-
-        while (constrainedTour.size() < tour.size()) {
-            Integer nextLocation = findNextValidLocation(tour, visited);
-
-            if (nextLocation == null) {
-                break;
+        for (int v = 0; v < n; v++) {
+            if (mstParent[v] != MinimumSpanningTreeBuilder.NO_PARENT) {
+                edgeFrom[edgeCount] = mstParent[v];
+                edgeTo[edgeCount++] = v;
             }
-
-            constrainedTour.add(nextLocation);
-            visited.add(nextLocation);
+        }
+        for (int i = 0; i < matching.length; i += 2) {
+            edgeFrom[edgeCount] = matching[i];
+            edgeTo[edgeCount++] = matching[i + 1];
         }
 
-        return constrainedTour;
+        int[] adjacencyStart = new int[n + 1];
+        int[] adjacentEdges = buildAdjacency(edgeFrom, edgeTo, edgeCount, adjacencyStart);
+        return walkEulerianCircuit(edgeFrom, edgeTo, edgeCount, adjacencyStart, adjacentEdges);
     }
 
-    private Integer findNextValidLocation(List<Integer> tour, Set<Integer> visited) {
-        for (int location : tour) {
-            if (visited.contains(location)) {
-                continue;
-            }
+    private int[] buildAdjacency(int[] edgeFrom, int[] edgeTo, int edgeCount, int[] adjacencyStart) {
+        int n = adjacencyStart.length - 1;
+        for (int e = 0; e < edgeCount; e++) {
+            adjacencyStart[edgeFrom[e] + 1]++;
+            adjacencyStart[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjacencyStart[v + 1] += adjacencyStart[v];
+        }
 
-            if (canVisit(location, visited)) {
-                return location;
-            }
+        int[] fill = Arrays.copyOf(adjacencyStart, n);
+        int[] adjacentEdges = new int[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            adjacentEdges[fill[edgeFrom[e]]++] = e;
+            adjacentEdges[fill[edgeTo[e]]++] = e;
         }
+        return adjacentEdges;
+    }
 
-        for (int location : tour) {
-            if (visited.contains(location)) {
-                continue;
+    private int[] walkEulerianCircuit(
+            int[] edgeFrom,
+            int[] edgeTo,
+            int edgeCount,
+            int[] adjacencyStart,
+            int[] adjacentEdges
+    ) {
+        boolean[] used = new boolean[edgeCount];
+        int[] cursor = Arrays.copyOf(adjacencyStart, adjacencyStart.length - 1);
+        int[] stack = new int[edgeCount + 1];
+        int[] circuit = new int[edgeCount + 1];
+        int top = 0;
+        int length = 0;
+
+        stack[top++] = 0;
+        while (top > 0) {
+            int v = stack[top - 1];
+            int end = adjacencyStart[v + 1];
+            while (cursor[v] < end && used[adjacentEdges[cursor[v]]]) {
+                cursor[v]++;
             }
 
-            if (isDeliveryLocation(location) && !visited.contains(location - 1)) {
-                return location - 1;
+            if (cursor[v] == end) {
+                circuit[length++] = v;
+                top--;
+            } else {
+                int e = adjacentEdges[cursor[v]++];
+                used[e] = true;
+                stack[top++] = edgeFrom[e] == v ? edgeTo[e] : edgeFrom[e];
             }
-            return location;
         }
 
-        return null;
+        return Arrays.copyOf(circuit, length);
     }
 
-    private boolean canVisit(int location, Set<Integer> visited) {
-        if (location == 0) {
-            return true;
-        }
+    private int[] convertToHamiltonian(int[] eulerianTour, int n) {
+        int[] hamiltonian = new int[n];
+        boolean[] visited = new boolean[n];
+        int length = 0;
 
-        if (location % 2 == 1) {
-            return true;
+        for (int vertex : eulerianTour) {
+            if (!visited[vertex]) {
+                hamiltonian[length++] = vertex;
+                visited[vertex] = true;
+            }
         }
 
-        int pickupLocation = location - 1;
-        return visited.contains(pickupLocation);
+        return Arrays.copyOf(hamiltonian, length);
     }
 
-    private boolean isDeliveryLocation(int location) {
-        return location > 0 && location % 2 == 0;
-    }
-
-    private List<Integer> reconstructPath(int[][] parent, int mask, int end) {
-        List<Integer> path = new ArrayList<>();
-        int current = end;
-        int currentMask = mask;
-
-        while (current != -1) {
-            path.add(0, current);
-            int prevMask = currentMask ^ (1 << current);
-            if (prevMask == 0) {
-                break;
-            }
-            current = parent[currentMask][current];
-            currentMask = prevMask;
+    private List<Integer> toList(int[] path) {
+        List<Integer> list = new ArrayList<>(path.length);
+        for (int node : path) {
+            list.add(node);
         }
-
-        return path;
+        return list;
     }
 
     private List<RouteStep> convertToRouteSteps(
             List<Integer> path,
             DistanceMatrix matrix,
-            DeliveryBatch batch
+            TimeWindowTable windows
     ) {
         List<RouteStep> steps = new ArrayList<>();
-        double cumulativeTime = 0;
+        double departure = 0;
 
         for (int i = 0; i < path.size(); i++) {
             int current = path.get(i);
             double distanceFromPrevious = 0;
             double timeFromPrevious = 0;
+            double arrival = 0;
 
             if (i > 0) {
                 int previous = path.get(i - 1);
                 distanceFromPrevious = matrix.getDistance(previous, current);
-                timeFromPrevious = matrix.getTime(previous, current);
-                cumulativeTime += timeFromPrevious;
+                timeFromPrevious = matrix.getTime(previous, current, departure);
+                arrival = departure + timeFromPrevious;
             }
+            departure = windows.departure(current, arrival);
 
             DistanceMatrix.LocationMetadata metadata = matrix.getLocationMetadata().get(current);
 
@@ -351,7 +633,8 @@ public class TSPOptimizer {
                     metadata,
                     distanceFromPrevious,
                     timeFromPrevious,
-                    cumulativeTime
+                    windows.serviceStart(current, arrival),
+                    windows.isConstrained(current) ? windows.slack(current, arrival) : null
             ));
         }
 
@@ -365,7 +648,8 @@ public class TSPOptimizer {
             DistanceMatrix.LocationMetadata metadata,
             double distanceFromPrevious,
             double timeFromPrevious,
-            double cumulativeTime
+            double arrivalTime,
+            Double slack
     ) {
         RouteStep.RouteStepBuilder builder = RouteStep.builder()
                 .sequence(index + 1)
@@ -373,10 +657,12 @@ public class TSPOptimizer {
                 .location(matrix.getLocations().get(locationIndex))
                 .distanceFromPreviousKm(distanceFromPrevious)
                 .timeFromPreviousMinutes(timeFromPrevious)
-                .estimatedArrivalTimeMinutes(cumulativeTime);
+                .estimatedArrivalTimeMinutes(arrivalTime)
+                .slackMinutes(slack);
 
         if (metadata != null) {
             builder.type(metadata.getType());
+            builder.orderId(metadata.getOrderId());
             builder.instructions(generateInstructions(metadata));
         } else {
             builder.type(RouteStep.LocationType.RESTAURANT_PICKUP);
@@ -402,33 +688,55 @@ public class TSPOptimizer {
         return total;
     }
 
-    private double calculateTotalTime(List<Integer> path, DistanceMatrix matrix) {
+    private double calculateTotalDistance(int[] path, DistanceMatrix matrix) {
         double total = 0;
-        for (int i = 1; i < path.size(); i++) {
-            total += matrix.getTime(path.get(i - 1), path.get(i));
+        for (int i = 1; i < path.length; i++) {
+            total += matrix.getDistance(path[i - 1], path[i]);
         }
         return total;
     }
 
+    private double calculateTotalTime(List<Integer> path, DistanceMatrix matrix, TimeWindowTable windows) {
+        double departure = windows.departure(path.get(0), 0);
+        for (int i = 1; i < path.size(); i++) {
+            double arrival = departure + matrix.getTime(path.get(i - 1), path.get(i), departure);
+            departure = windows.departure(path.get(i), arrival);
+        }
+        return departure;
+    }
+
     private OptimizedRoute buildOptimizedRoute(
             DeliveryBatch batch,
             List<RouteStep> steps,
             List<Integer> path,
             DistanceMatrix matrix,
-            String algorithm,
-            long optimizationTime
+            TimeWindowTable windows,
+            OptimizedRoute.RouteMetadata metadata
     ) {
         return OptimizedRoute.builder()
                 .routeId(UUID.randomUUID())
                 .batchId(batch.getId())
                 .steps(steps)
                 .totalDistanceKm(calculateTotalDistance(path, matrix))
-                .estimatedTimeMinutes(calculateTotalTime(path, matrix))
-                .metadata(OptimizedRoute.RouteMetadata.builder()
-                        .algorithm(algorithm)
-                        .optimizationTimeMs(optimizationTime)
-                        .orderCount(batch.getOrderCount())
-                        .build())
+                .estimatedTimeMinutes(calculateTotalTime(path, matrix, windows))
+                .metadata(metadata)
                 .build();
     }
+
+    private OptimizedRoute.RouteMetadata.RouteMetadataBuilder metadata(
+            DeliveryBatch batch,
+            String algorithm,
+            long optimizationTime
+    ) {
+        return OptimizedRoute.RouteMetadata.builder()
+                .algorithm(algorithm)
+                .optimizationTimeMs(optimizationTime)
+                .orderCount(batch.getOrderCount());
+    }
+
+    private record PortfolioStart(ConstructionHeuristics.Strategy strategy, long seed) {
+    }
+
+    private record PortfolioResult(PortfolioStart start, int[] tour, double distance) {
+    }
 }
@@ -0,0 +1,95 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import com.delivery.routing.exception.RouteOptimizationException;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.IntStream;
+
+@Component
+public class TimeWindowInsertionHeuristic {
+
+    public int[] solve(DistanceMatrix matrix, TimeWindowTable windows) {
+        int n = matrix.getLocations().size();
+        int orders = (n - 1) / 2;
+
+        int[] route = new int[n];
+        int[] candidate = new int[n];
+        int length = 1;
+        route[0] = 0;
+
+        for (int order : ordersByDeadline(windows, orders)) {
+            length = insertCheapest(route, candidate, length, order, matrix, windows);
+        }
+
+        return route;
+    }
+
+    private int[] ordersByDeadline(TimeWindowTable windows, int orders) {
+        float[] latest = windows.latest();
+        return IntStream.range(0, orders)
+                .boxed()
+                .sorted((a, b) -> Float.compare(latest[2 * a + 2], latest[2 * b + 2]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int insertCheapest(
+            int[] route,
+            int[] candidate,
+            int length,
+            int order,
+            DistanceMatrix matrix,
+            TimeWindowTable windows
+    ) {
+        int pickup = 2 * order + 1;
+        int delivery = pickup + 1;
+
+        double bestCompletion = Double.MAX_VALUE;
+        int bestPickupPosition = -1;
+        int bestDeliveryPosition = -1;
+
+        for (int i = 1; i <= length; i++) {
+            for (int j = i + 1; j <= length + 1; j++) {
+                buildCandidate(route, candidate, length, pickup, i, delivery, j);
+                double completion = windows.completionTime(candidate, length + 2, matrix);
+
+                if (!Double.isNaN(completion) && completion < bestCompletion) {
+                    bestCompletion = completion;
+                    bestPickupPosition = i;
+                    bestDeliveryPosition = j;
+                }
+            }
+        }
+
+        if (bestPickupPosition == -1) {
+            throw new RouteOptimizationException(
+                    "No feasible insertion within the time windows for pickup location " + pickup);
+        }
+
+        buildCandidate(route, candidate, length, pickup, bestPickupPosition, delivery, bestDeliveryPosition);
+        System.arraycopy(candidate, 0, route, 0, length + 2);
+        return length + 2;
+    }
+
+    private void buildCandidate(
+            int[] route,
+            int[] candidate,
+            int length,
+            int pickup,
+            int pickupPosition,
+            int delivery,
+            int deliveryPosition
+    ) {
+        int source = 0;
+        for (int target = 0; target < length + 2; target++) {
+            if (target == pickupPosition) {
+                candidate[target] = pickup;
+            } else if (target == deliveryPosition) {
+                candidate[target] = delivery;
+            } else {
+                candidate[target] = route[source++];
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.delivery.routing.algorithm;
+
+import com.delivery.routing.domain.DeliveryBatch;
+import com.delivery.routing.domain.DistanceMatrix;
+import com.delivery.routing.domain.OrderInfo;
+import com.delivery.routing.domain.TimeWindow;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public final class TimeWindowTable {
+    public static final float OPEN = Float.MAX_VALUE;
+
+    private final float[] earliest;
+    private final float[] latest;
+    private final float[] serviceTime;
+
+    private TimeWindowTable(int nodeCount) {
+        this.earliest = new float[nodeCount];
+        this.latest = new float[nodeCount];
+        this.serviceTime = new float[nodeCount];
+        Arrays.fill(latest, OPEN);
+    }
+
+    public static TimeWindowTable unconstrained(int nodeCount) {
+        return new TimeWindowTable(nodeCount);
+    }
+
+    public static TimeWindowTable from(DeliveryBatch batch, Map<String, TimeWindow> timeWindows) {
+        List<OrderInfo> orders = batch.getOrders();
+        TimeWindowTable table = new TimeWindowTable(2 * orders.size() + 1);
+        if (timeWindows == null) {
+            return table;
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            OrderInfo order = orders.get(i);
+            table.apply(2 * i + 1, timeWindows.get(TimeWindow.pickupKey(order.getOrderId())));
+            table.apply(2 * i + 2, timeWindows.get(TimeWindow.deliveryKey(order.getOrderId())));
+        }
+        return table;
+    }
+
+    private void apply(int node, TimeWindow window) {
+        if (window == null) {
+            return;
+        }
+        earliest[node] = window.getEarliest();
+        latest[node] = window.getLatest();
+        serviceTime[node] = window.getServiceTime();
+    }
+
+    public float[] earliest() {
+        return earliest;
+    }
+
+    public float[] latest() {
+        return latest;
+    }
+
+    public float[] serviceTime() {
+        return serviceTime;
+    }
+
+    public boolean isConstrained(int node) {
+        return latest[node] != OPEN;
+    }
+
+    public double serviceStart(int node, double arrival) {
+        return Math.max(arrival, earliest[node]);
+    }
+
+    public double departure(int node, double arrival) {
+        return serviceStart(node, arrival) + serviceTime[node];
+    }
+
+    public double slack(int node, double arrival) {
+        return latest[node] - serviceStart(node, arrival);
+    }
+
+    public double[] arrivalTimes(int[] path, int length, DistanceMatrix matrix) {
+        double[] arrivals = new double[length];
+        double departure = departure(path[0], 0);
+
+        for (int i = 1; i < length; i++) {
+            arrivals[i] = departure + matrix.getTime(path[i - 1], path[i], departure);
+            departure = departure(path[i], arrivals[i]);
+        }
+        return arrivals;
+    }
+
+    public double completionTime(int[] path, int length, DistanceMatrix matrix) {
+        double departure = departure(path[0], 0);
+
+        for (int i = 1; i < length; i++) {
+            double arrival = departure + matrix.getTime(path[i - 1], path[i], departure);
+            if (arrival > latest[path[i]]) {
+                return Double.NaN;
+            }
+            departure = departure(path[i], arrival);
+        }
+        return departure;
+    }
+}
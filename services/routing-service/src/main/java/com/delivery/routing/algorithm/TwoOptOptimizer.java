@@ -3,63 +3,638 @@ package com.delivery.routing.algorithm;
 import com.delivery.routing.domain.DistanceMatrix;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
 @Component
 public class TwoOptOptimizer {
 
     private static final double IMPROVEMENT_THRESHOLD = -0.001;
+    private static final int NEIGHBOR_COUNT = 8;
+    private static final int MAX_SEGMENT_LENGTH = 3;
+    private static final int NOT_IN_TOUR = -1;
+    private static final int STOP_CHECK_INTERVAL = 16;
 
-    public List<Integer> optimize(List<Integer> tour, DistanceMatrix matrix, int maxIterations) {
-        List<Integer> bestTour = new ArrayList<>(tour);
-        boolean improved = true;
-        int iteration = 0;
+    public enum ImprovementMode {
+        FIRST,
+        BEST
+    }
+
+    public int[] optimize(int[] tour, DistanceMatrix matrix, int maxPasses, ImprovementMode mode) {
+        return optimize(tour, matrix, maxPasses, mode, null);
+    }
 
-        while (improved && iteration < maxIterations) {
-            improved = performTwoOptIteration(bestTour, matrix);
-            iteration++;
+    public int[] optimize(int[] tour, DistanceMatrix matrix, int maxPasses, ImprovementMode mode, Long deadlineNanos) {
+        int length = tour.length;
+        int[] route = Arrays.copyOf(tour, length);
+        if (length < 4) {
+            return route;
         }
 
-        return bestTour;
+        Search search = new Search(route, matrix, mode);
+        search.run((long) maxPasses * length, deadlineNanos);
+        return route;
     }
 
-    private boolean performTwoOptIteration(List<Integer> tour, DistanceMatrix matrix) {
-        boolean improved = false;
+    private static final class Search {
+        private final int[] tour;
+        private final int length;
+        private final DistanceMatrix matrix;
+        private final ImprovementMode mode;
+        private final int[] position;
+        private final int[] neighbors;
+        private final int neighborCount;
+        private final int[] queue;
+        private final boolean[] queued;
+        private final int[] segment = new int[MAX_SEGMENT_LENGTH];
+        private final int[] buffer;
+        private int head;
+        private int size;
 
-        for (int i = 1; i < tour.size() - 2; i++) {
-            for (int j = i + 1; j < tour.size() - 1; j++) {
-                double delta = calculate2OptDelta(tour, i, j, matrix);
+        private int bestType;
+        private int bestFirst;
+        private int bestSecond;
+        private int bestThird;
+        private int bestSegmentLength;
+        private boolean bestReversed;
+        private double bestDelta;
 
-                if (delta < IMPROVEMENT_THRESHOLD) {
-                    reverse(tour, i + 1, j);
-                    improved = true;
+        private static final int NO_MOVE = 0;
+        private static final int TWO_OPT = 1;
+        private static final int OR_OPT = 2;
+        private static final int PAIR_RELOCATE = 3;
+        private static final int EXCHANGE = 4;
+
+        private Search(int[] tour, DistanceMatrix matrix, ImprovementMode mode) {
+            int nodeCount = matrix.getLocations().size();
+            this.tour = tour;
+            this.length = tour.length;
+            this.matrix = matrix;
+            this.mode = mode;
+            this.position = new int[nodeCount];
+            this.neighborCount = Math.min(NEIGHBOR_COUNT, length - 1);
+            this.neighbors = new int[nodeCount * neighborCount];
+            this.queue = new int[length];
+            this.queued = new boolean[nodeCount];
+            this.buffer = new int[length];
+
+            Arrays.fill(position, NOT_IN_TOUR);
+            for (int i = 0; i < length; i++) {
+                position[tour[i]] = i;
+            }
+            buildNeighborLists();
+            for (int node : tour) {
+                enqueue(node);
+            }
+        }
+
+        private void buildNeighborLists() {
+            double[] candidateDistances = new double[length];
+            int[] candidates = new int[length];
+
+            for (int node : tour) {
+                int count = 0;
+                for (int other : tour) {
+                    if (other != node) {
+                        candidates[count] = other;
+                        candidateDistances[count] = matrix.getDistance(node, other);
+                        count++;
+                    }
                 }
+                selectNearest(node, candidates, candidateDistances, count);
             }
         }
 
-        return improved;
-    }
+        private void selectNearest(int node, int[] candidates, double[] distances, int count) {
+            int base = node * neighborCount;
+            for (int k = 0; k < neighborCount; k++) {
+                int best = k;
+                for (int c = k + 1; c < count; c++) {
+                    if (distances[c] < distances[best]) {
+                        best = c;
+                    }
+                }
+                swap(candidates, distances, k, best);
+                neighbors[base + k] = candidates[k];
+            }
+        }
 
-    private double calculate2OptDelta(List<Integer> tour, int i, int j, DistanceMatrix matrix) {
-        int a = tour.get(i);
-        int b = tour.get(i + 1);
-        int c = tour.get(j);
-        int d = tour.get(j + 1);
+        private void swap(int[] candidates, double[] distances, int a, int b) {
+            int node = candidates[a];
+            candidates[a] = candidates[b];
+            candidates[b] = node;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
 
-        double currentCost = matrix.getDistance(a, b) + matrix.getDistance(c, d);
-        double newCost = matrix.getDistance(a, c) + matrix.getDistance(b, d);
+        private void run(long maxMoves, Long deadlineNanos) {
+            long moves = 0;
+            long scans = 0;
+            while (size > 0 && moves < maxMoves) {
+                if (++scans % STOP_CHECK_INTERVAL == 0 && stopRequested(deadlineNanos)) {
+                    return;
+                }
+                int node = dequeue();
+                if (improve(node)) {
+                    moves++;
+                    enqueue(node);
+                }
+            }
+        }
 
-        return newCost - currentCost;
-    }
+        private boolean stopRequested(Long deadlineNanos) {
+            return Thread.currentThread().isInterrupted()
+                    || deadlineNanos != null && System.nanoTime() - deadlineNanos > 0;
+        }
+
+        private boolean improve(int node) {
+            bestType = NO_MOVE;
+            bestDelta = IMPROVEMENT_THRESHOLD;
+
+            if (scanTwoOpt(node) && mode == ImprovementMode.FIRST) {
+                return applyBest();
+            }
+            if (scanOrOpt(node) && mode == ImprovementMode.FIRST) {
+                return applyBest();
+            }
+            if (scanPairRelocate(node) && mode == ImprovementMode.FIRST) {
+                return applyBest();
+            }
+            scanExchange(node);
+            return applyBest();
+        }
+
+        private boolean scanTwoOpt(int a) {
+            int i = position[a];
+            int base = a * neighborCount;
+
+            for (int k = 0; k < neighborCount; k++) {
+                int c = neighbors[base + k];
+                int j = position[c];
+                double newEdge = matrix.getDistance(a, c);
+
+                if (i + 1 < length && newEdge < matrix.getDistance(a, tour[i + 1])) {
+                    if (considerTwoOpt(Math.min(i, j), Math.max(i, j))) {
+                        return true;
+                    }
+                }
+                if (i > 0 && newEdge < matrix.getDistance(tour[i - 1], a)) {
+                    if (considerTwoOpt(Math.min(i, j) - 1, Math.max(i, j) - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean considerTwoOpt(int lo, int hi) {
+            if (lo < 0 || hi - lo < 2) {
+                return false;
+            }
+
+            double delta = twoOptDelta(lo, hi);
+            if (delta < bestDelta && reversalKeepsPrecedence(lo + 1, hi)) {
+                recordMove(TWO_OPT, lo, hi, 0, false, delta);
+                return mode == ImprovementMode.FIRST;
+            }
+            return false;
+        }
+
+        private double twoOptDelta(int lo, int hi) {
+            int a = tour[lo];
+            int b = tour[lo + 1];
+            int c = tour[hi];
+
+            double delta = matrix.getDistance(a, c) - matrix.getDistance(a, b);
+            if (hi + 1 < length) {
+                int d = tour[hi + 1];
+                delta += matrix.getDistance(b, d) - matrix.getDistance(c, d);
+            }
+            return delta;
+        }
+
+        private boolean reversalKeepsPrecedence(int from, int to) {
+            for (int k = from; k <= to; k++) {
+                int partnerPosition = partnerPosition(tour[k]);
+                if (partnerPosition >= from && partnerPosition <= to) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean scanOrOpt(int first) {
+            int start = position[first];
+            if (start == 0) {
+                return false;
+            }
+
+            for (int segmentLength = 1; segmentLength <= MAX_SEGMENT_LENGTH; segmentLength++) {
+                int end = start + segmentLength - 1;
+                if (end >= length) {
+                    return false;
+                }
+
+                double removalGain = removalGain(start, end);
+                int base = first * neighborCount;
+                for (int k = 0; k < neighborCount; k++) {
+                    int target = position[neighbors[base + k]];
+                    if (considerInsertion(start, end, target, removalGain)
+                            || considerInsertion(start, end, target - 1, removalGain)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private double removalGain(int start, int end) {
+            int before = tour[start - 1];
+            double gain = matrix.getDistance(before, tour[start]);
+            if (end + 1 < length) {
+                int after = tour[end + 1];
+                gain += matrix.getDistance(tour[end], after) - matrix.getDistance(before, after);
+            }
+            return gain;
+        }
+
+        private boolean considerInsertion(int start, int end, int after, double removalGain) {
+            if (after < 0 || (after >= start - 1 && after <= end)) {
+                return false;
+            }
+
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean reversed = orientation == 1;
+                double delta = insertionCost(start, end, after, reversed) - removalGain;
+
+                if (delta < bestDelta && segmentMoveKeepsPrecedence(start, end, after, reversed)) {
+                    recordMove(OR_OPT, start, after, end - start + 1, reversed, delta);
+                    if (mode == ImprovementMode.FIRST) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private double insertionCost(int start, int end, int after, boolean reversed) {
+            int x = tour[after];
+            int head = reversed ? tour[end] : tour[start];
+            int tail = reversed ? tour[start] : tour[end];
+
+            double cost = matrix.getDistance(x, head);
+            if (after + 1 < length) {
+                int y = tour[after + 1];
+                cost += matrix.getDistance(tail, y) - matrix.getDistance(x, y);
+            }
+            return cost;
+        }
+
+        private boolean segmentMoveKeepsPrecedence(int start, int end, int after, boolean reversed) {
+            if (reversed && !reversalKeepsPrecedence(start, end)) {
+                return false;
+            }
+
+            for (int k = start; k <= end; k++) {
+                int node = tour[k];
+                int partnerPosition = partnerPosition(node);
+                if (partnerPosition == NOT_IN_TOUR) {
+                    continue;
+                }
+
+                if (after > end && isPickup(node) && partnerPosition > end && partnerPosition <= after) {
+                    return false;
+                }
+                if (after < start && !isPickup(node) && partnerPosition > after && partnerPosition < start) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean scanPairRelocate(int node) {
+            if (node == 0) {
+                return false;
+            }
+            int pickup = isPickup(node) ? node : node - 1;
+            int delivery = pickup + 1;
+            if (delivery >= position.length || position[pickup] == NOT_IN_TOUR || position[delivery] == NOT_IN_TOUR) {
+                return false;
+            }
+
+            double removalGain = pairRemovalGain(pickup, delivery);
+            int pickupBase = pickup * neighborCount;
+            int deliveryBase = delivery * neighborCount;
+
+            for (int k = 0; k < neighborCount; k++) {
+                int pickupNeighbor = neighbors[pickupBase + k];
+                for (int pickupSide = 0; pickupSide < 2; pickupSide++) {
+                    int pickupAfter = pickupSide == 0 ? pickupNeighbor : reducedPredecessor(pickupNeighbor, pickup, delivery);
+                    if (pickupAfter == NOT_IN_TOUR || pickupAfter == pickup || pickupAfter == delivery) {
+                        continue;
+                    }
+                    if (considerPairInsertion(pickup, delivery, pickupAfter, pickupAfter, removalGain)) {
+                        return true;
+                    }
+
+                    for (int m = 0; m < neighborCount; m++) {
+                        int deliveryNeighbor = neighbors[deliveryBase + m];
+                        if (considerPairInsertion(pickup, delivery, pickupAfter, deliveryNeighbor, removalGain)
+                                || considerPairInsertion(pickup, delivery, pickupAfter,
+                                        reducedPredecessor(deliveryNeighbor, pickup, delivery), removalGain)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private double pairRemovalGain(int pickup, int delivery) {
+            int pickupPosition = position[pickup];
+            int deliveryPosition = position[delivery];
+            if (deliveryPosition == pickupPosition + 1) {
+                return removalGain(pickupPosition, deliveryPosition);
+            }
+            return removalGain(pickupPosition, pickupPosition) + removalGain(deliveryPosition, deliveryPosition);
+        }
+
+        private boolean considerPairInsertion(
+                int pickup,
+                int delivery,
+                int pickupAfter,
+                int deliveryAfter,
+                double removalGain
+        ) {
+            if (deliveryAfter == NOT_IN_TOUR || deliveryAfter == pickup || deliveryAfter == delivery
+                    || position[deliveryAfter] < position[pickupAfter]) {
+                return false;
+            }
+
+            double delta = pairInsertionCost(pickup, delivery, pickupAfter, deliveryAfter) - removalGain;
+            if (delta < bestDelta) {
+                recordMove(PAIR_RELOCATE, pickup, pickupAfter, deliveryAfter, delta);
+                return mode == ImprovementMode.FIRST;
+            }
+            return false;
+        }
+
+        private double pairInsertionCost(int pickup, int delivery, int pickupAfter, int deliveryAfter) {
+            int pickupNext = reducedSuccessor(pickupAfter, pickup, delivery);
+            if (pickupAfter == deliveryAfter) {
+                double cost = matrix.getDistance(pickupAfter, pickup) + matrix.getDistance(pickup, delivery);
+                if (pickupNext != NOT_IN_TOUR) {
+                    cost += matrix.getDistance(delivery, pickupNext) - matrix.getDistance(pickupAfter, pickupNext);
+                }
+                return cost;
+            }
+
+            int deliveryNext = reducedSuccessor(deliveryAfter, pickup, delivery);
+            double cost = matrix.getDistance(pickupAfter, pickup) + matrix.getDistance(pickup, pickupNext)
+                    - matrix.getDistance(pickupAfter, pickupNext)
+                    + matrix.getDistance(deliveryAfter, delivery);
+            if (deliveryNext != NOT_IN_TOUR) {
+                cost += matrix.getDistance(delivery, deliveryNext) - matrix.getDistance(deliveryAfter, deliveryNext);
+            }
+            return cost;
+        }
+
+        private int reducedSuccessor(int node, int pickup, int delivery) {
+            int k = position[node] + 1;
+            while (k < length && (tour[k] == pickup || tour[k] == delivery)) {
+                k++;
+            }
+            return k < length ? tour[k] : NOT_IN_TOUR;
+        }
+
+        private int reducedPredecessor(int node, int pickup, int delivery) {
+            int k = position[node] - 1;
+            while (k >= 0 && (tour[k] == pickup || tour[k] == delivery)) {
+                k--;
+            }
+            return k >= 0 ? tour[k] : NOT_IN_TOUR;
+        }
+
+        private boolean scanExchange(int a) {
+            int i = position[a];
+            if (i == 0) {
+                return false;
+            }
+
+            int base = a * neighborCount;
+            for (int k = 0; k < neighborCount; k++) {
+                int j = position[neighbors[base + k]];
+                if (considerExchange(i, j - 1) || considerExchange(i, j + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean considerExchange(int i, int j) {
+            if (j <= 0 || j >= length || j == i) {
+                return false;
+            }
+
+            int lo = Math.min(i, j);
+            int hi = Math.max(i, j);
+            double delta = exchangeDelta(lo, hi);
+            if (delta < bestDelta && exchangeKeepsPrecedence(lo, hi)) {
+                recordMove(EXCHANGE, lo, hi, 0, false, delta);
+                return mode == ImprovementMode.FIRST;
+            }
+            return false;
+        }
+
+        private double exchangeDelta(int lo, int hi) {
+            int u = tour[lo];
+            int v = tour[hi];
+            int before = tour[lo - 1];
+            int after = hi + 1 < length ? tour[hi + 1] : NOT_IN_TOUR;
+
+            double delta = matrix.getDistance(before, v) - matrix.getDistance(before, u);
+            if (after != NOT_IN_TOUR) {
+                delta += matrix.getDistance(u, after) - matrix.getDistance(v, after);
+            }
+            if (hi == lo + 1) {
+                return delta;
+            }
+
+            int uNext = tour[lo + 1];
+            int vPrevious = tour[hi - 1];
+            return delta
+                    + matrix.getDistance(v, uNext) - matrix.getDistance(u, uNext)
+                    + matrix.getDistance(vPrevious, u) - matrix.getDistance(vPrevious, v);
+        }
+
+        private boolean exchangeKeepsPrecedence(int lo, int hi) {
+            int early = tour[lo];
+            int late = tour[hi];
+            int earlyPartner = partnerPosition(early);
+            int latePartner = partnerPosition(late);
+
+            if (isPickup(early) && earlyPartner != NOT_IN_TOUR && earlyPartner <= hi) {
+                return false;
+            }
+            return isPickup(late) || latePartner == NOT_IN_TOUR || latePartner < lo;
+        }
+
+        private void recordMove(int type, int first, int second, int third, double delta) {
+            recordMove(type, first, second, 0, false, delta);
+            bestThird = third;
+        }
+
+        private void recordMove(int type, int first, int second, int segmentLength, boolean reversed, double delta) {
+            bestType = type;
+            bestFirst = first;
+            bestSecond = second;
+            bestSegmentLength = segmentLength;
+            bestReversed = reversed;
+            bestDelta = delta;
+        }
 
-    private void reverse(List<Integer> tour, int start, int end) {
-        while (start < end) {
-            Collections.swap(tour, start, end);
-            start++;
-            end--;
+        private boolean applyBest() {
+            if (bestType == TWO_OPT) {
+                applyTwoOpt(bestFirst, bestSecond);
+                return true;
+            }
+            if (bestType == OR_OPT) {
+                applyOrOpt(bestFirst, bestFirst + bestSegmentLength - 1, bestSecond, bestReversed);
+                return true;
+            }
+            if (bestType == PAIR_RELOCATE) {
+                applyPairRelocate(bestFirst, bestSecond, bestThird);
+                return true;
+            }
+            if (bestType == EXCHANGE) {
+                applyExchange(bestFirst, bestSecond);
+                return true;
+            }
+            return false;
+        }
+
+        private void applyTwoOpt(int lo, int hi) {
+            enqueueAround(lo);
+            enqueueAround(hi);
+            reverse(lo + 1, hi);
+        }
+
+        private void applyOrOpt(int start, int end, int after, boolean reversed) {
+            int segmentLength = end - start + 1;
+            for (int k = 0; k < segmentLength; k++) {
+                segment[k] = tour[reversed ? end - k : start + k];
+            }
+
+            enqueueAround(start - 1);
+            enqueueAround(end);
+            enqueueAround(after);
+
+            int insertAt;
+            if (after > end) {
+                System.arraycopy(tour, end + 1, tour, start, after - end);
+                insertAt = after - segmentLength + 1;
+            } else {
+                System.arraycopy(tour, after + 1, tour, after + 1 + segmentLength, start - after - 1);
+                insertAt = after + 1;
+            }
+            System.arraycopy(segment, 0, tour, insertAt, segmentLength);
+
+            int from = Math.min(start, after + 1);
+            int to = Math.max(end, after);
+            for (int k = from; k <= to; k++) {
+                position[tour[k]] = k;
+            }
+        }
+
+        private void applyPairRelocate(int pickup, int pickupAfter, int deliveryAfter) {
+            int delivery = pickup + 1;
+            enqueueAround(position[pickup] - 1);
+            enqueueAround(position[delivery] - 1);
+
+            int count = 0;
+            for (int k = 0; k < length; k++) {
+                int node = tour[k];
+                if (node == pickup || node == delivery) {
+                    continue;
+                }
+                buffer[count++] = node;
+                if (node == pickupAfter) {
+                    buffer[count++] = pickup;
+                }
+                if (node == deliveryAfter) {
+                    buffer[count++] = delivery;
+                }
+            }
+
+            System.arraycopy(buffer, 0, tour, 0, length);
+            for (int k = 0; k < length; k++) {
+                position[tour[k]] = k;
+            }
+            enqueueAround(position[pickup] - 1);
+            enqueueAround(position[delivery] - 1);
+        }
+
+        private void applyExchange(int lo, int hi) {
+            int node = tour[lo];
+            tour[lo] = tour[hi];
+            tour[hi] = node;
+            position[tour[lo]] = lo;
+            position[tour[hi]] = hi;
+
+            enqueueAround(lo - 1);
+            enqueueAround(lo);
+            enqueueAround(hi - 1);
+            enqueueAround(hi);
+        }
+
+        private void reverse(int from, int to) {
+            while (from < to) {
+                int node = tour[from];
+                tour[from] = tour[to];
+                tour[to] = node;
+                position[tour[from]] = from;
+                position[tour[to]] = to;
+                from++;
+                to--;
+            }
+        }
+
+        private int partnerPosition(int node) {
+            if (node == 0) {
+                return NOT_IN_TOUR;
+            }
+            int partner = isPickup(node) ? node + 1 : node - 1;
+            return partner < position.length ? position[partner] : NOT_IN_TOUR;
+        }
+
+        private boolean isPickup(int node) {
+            return node % 2 == 1;
+        }
+
+        private void enqueueAround(int index) {
+            if (index >= 0 && index < length) {
+                enqueue(tour[index]);
+            }
+            if (index + 1 < length) {
+                enqueue(tour[index + 1]);
+            }
+        }
+
+        private void enqueue(int node) {
+            if (queued[node]) {
+                return;
+            }
+            queued[node] = true;
+            queue[(head + size) % queue.length] = node;
+            size++;
+        }
+
+        private int dequeue() {
+            int node = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            queued[node] = false;
+            return node;
         }
     }
 }
-
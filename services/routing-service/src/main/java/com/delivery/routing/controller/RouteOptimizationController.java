@@ -1,13 +1,28 @@
 package com.delivery.routing.controller;
 
+import com.delivery.routing.domain.DispatchPlan;
 import com.delivery.routing.domain.OptimizedRoute;
+import com.delivery.routing.dto.BulkOptimizeRouteRequest;
+import com.delivery.routing.dto.BulkRouteResult;
+import com.delivery.routing.dto.DispatchRequest;
 import com.delivery.routing.dto.OptimizeRouteRequest;
+import com.delivery.routing.dto.ReoptimizeRouteRequest;
+import com.delivery.routing.service.BulkRouteOptimizationService;
+import com.delivery.routing.service.DispatchService;
 import com.delivery.routing.service.RouteOptimizationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/api/v1/routes")
@@ -15,6 +30,12 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class RouteOptimizationController {
     private final RouteOptimizationService routeOptimizationService;
+    private final BulkRouteOptimizationService bulkRouteOptimizationService;
+    private final DispatchService dispatchService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${routing.bulk.response-timeout-ms:120000}")
+    private long bulkResponseTimeoutMs;
 
     @PostMapping("/optimize")
     public ResponseEntity<OptimizedRoute> optimizeRoute(@Valid @RequestBody OptimizeRouteRequest request) {
@@ -22,10 +43,71 @@ public class RouteOptimizationController {
 
         OptimizedRoute route = routeOptimizationService.findOptimalRoute(
                 request.getBatch(),
-                request.getExecutiveLocation()
+                request.getExecutiveLocation(),
+                request.getMaxOptimizationMs()
         );
 
         return ResponseEntity.ok(route);
     }
-}
 
+    @PostMapping("/reoptimize")
+    public ResponseEntity<OptimizedRoute> reoptimizeRoute(@Valid @RequestBody ReoptimizeRouteRequest request) {
+        log.info("Received route re-optimization request for batch: {}", request.getBatch().getId());
+
+        OptimizedRoute route = routeOptimizationService.reoptimizeRoute(
+                request.getBatch(),
+                request.getSteps(),
+                request.getVisitedSteps(),
+                request.getDelta()
+        );
+
+        return ResponseEntity.ok(route);
+    }
+
+    @PostMapping(value = "/optimize-bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter optimizeRoutes(@Valid @RequestBody BulkOptimizeRouteRequest request) {
+        log.info("Received bulk route optimization request for {} batches", request.getRequests().size());
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkResponseTimeoutMs);
+        bulkRouteOptimizationService.optimizeAll(request.getRequests(), result -> send(emitter, result))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        emitter.completeWithError(error);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        return emitter;
+    }
+
+    @PostMapping("/dispatch")
+    public ResponseEntity<DispatchPlan> dispatch(@Valid @RequestBody DispatchRequest request) {
+        log.info("Received dispatch request for {} orders and {} executives",
+                request.getOrders().size(), request.getExecutives().size());
+
+        DispatchPlan plan = dispatchService.dispatch(
+                request.getOrders(),
+                request.getExecutives(),
+                request.getMaxOrdersPerExecutive(),
+                request.getMaxOptimizationMs()
+        );
+
+        return ResponseEntity.ok(plan);
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> evictCachedRoutes() {
+        routeOptimizationService.evictCachedRoutes();
+        return ResponseEntity.noContent().build();
+    }
+
+    private void send(ResponseBodyEmitter emitter, BulkRouteResult result) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(result) + "\n", MediaType.APPLICATION_NDJSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize route for batch: " + result.getBatchId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
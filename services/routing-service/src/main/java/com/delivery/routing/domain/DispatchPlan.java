@@ -0,0 +1,23 @@
+package com.delivery.routing.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class DispatchPlan {
+    List<Assignment> assignments;
+    List<UUID> unassignedOrderIds;
+    double totalDistanceKm;
+    long optimizationTimeMs;
+
+    @Value
+    @Builder
+    public static class Assignment {
+        UUID executiveId;
+        OptimizedRoute route;
+    }
+}
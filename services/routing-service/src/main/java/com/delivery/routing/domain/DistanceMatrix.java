@@ -12,23 +12,49 @@ import java.util.UUID;
 @Builder
 public class DistanceMatrix {
     List<Location> locations;
-    double[][] distances;
-    double[][] times;
+    float[] packedDistances;
+    SpeedProfile speedProfile;
+    int[] zones;
+    double departureMinuteOfDay;
     Map<Integer, LocationMetadata> locationMetadata;
 
     public double getDistance(int from, int to) {
-        return distances[from][to];
+        return from == to ? 0 : packedDistances[packedIndex(from, to)];
     }
 
     public double getTime(int from, int to) {
-        return times[from][to];
+        return getTime(from, to, 0);
+    }
+
+    public double getTime(int from, int to, double elapsedMinutes) {
+        return speedProfile.travelMinutes(zones[from], departureMinuteOfDay + elapsedMinutes, getDistance(from, to));
+    }
+
+    public boolean isTimeDependent() {
+        return !speedProfile.isTimeInvariant();
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public static int packedLength(int n) {
+        return n * (n - 1) / 2;
+    }
+
+    public static int rowOffset(int row) {
+        return row * (row - 1) / 2;
+    }
+
+    public static int packedIndex(int from, int to) {
+        return from > to ? rowOffset(from) + to : rowOffset(to) + from;
     }
 
     @Value
     @Builder
     public static class LocationMetadata {
         UUID id;
+        UUID orderId;
         RouteStep.LocationType type;
     }
 }
-
@@ -3,12 +3,13 @@ package com.delivery.routing.domain;
 import lombok.Builder;
 import lombok.Value;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.UUID;
 
 @Value
 @Builder
-public class OptimizedRoute {
+public class OptimizedRoute implements Serializable {
     UUID routeId;
     int batchId;
     List<RouteStep> steps;
@@ -18,10 +19,13 @@ public class OptimizedRoute {
 
     @Value
     @Builder
-    public static class RouteMetadata {
+    public static class RouteMetadata implements Serializable {
         String algorithm;
         long optimizationTimeMs;
         int orderCount;
+        Double constraintRepairDistanceKm;
+        boolean provenOptimal;
+        boolean budgetTruncated;
     }
 }
 
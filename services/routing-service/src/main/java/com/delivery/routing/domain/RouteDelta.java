@@ -0,0 +1,25 @@
+package com.delivery.routing.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteDelta {
+    private Type type;
+    private OrderInfo order;
+    private UUID orderId;
+    private ExecutiveLocation executiveLocation;
+
+    public enum Type {
+        ADD_ORDER,
+        REMOVE_ORDER,
+        POSITION_CHANGED
+    }
+}
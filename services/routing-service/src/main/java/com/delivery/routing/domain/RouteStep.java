@@ -6,20 +6,23 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.util.UUID;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
-public class RouteStep {
+@Builder(toBuilder = true)
+public class RouteStep implements Serializable {
     private int sequence;
     private UUID locationId;
+    private UUID orderId;
     private LocationType type;
     private Location location;
     private double distanceFromPreviousKm;
     private double timeFromPreviousMinutes;
     private double estimatedArrivalTimeMinutes;
+    private Double slackMinutes;
     private String instructions;
 
     public enum LocationType {
@@ -0,0 +1,128 @@
+package com.delivery.routing.domain;
+
+import com.delivery.common.domain.Location;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class SpeedProfile {
+    public static final int BUCKET_MINUTES = 15;
+    public static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+
+    private static final double MINUTES_PER_HOUR = 60.0;
+    private static final int BOUNDS_PER_ZONE = 4;
+    private static final double FLAT_SLOPE = 1e-12;
+
+    private final double[] bounds;
+    private final float[] kmPerMinute;
+    private final int defaultZone;
+    private final boolean timeInvariant;
+
+    private SpeedProfile(double[] bounds, float[] kmPerMinute) {
+        this.bounds = bounds;
+        this.kmPerMinute = kmPerMinute;
+        this.defaultZone = bounds.length / BOUNDS_PER_ZONE;
+        this.timeInvariant = isFlatPerZone(kmPerMinute);
+    }
+
+    public static SpeedProfile constant(double speedKmHr) {
+        float[] speeds = new float[BUCKETS_PER_DAY];
+        Arrays.fill(speeds, (float) speedKmHr);
+        return of(new double[0], new float[0], speeds);
+    }
+
+    public static SpeedProfile of(double[] zoneBounds, float[] zoneSpeedsKmHr, float[] defaultSpeedsKmHr) {
+        int zones = zoneBounds.length / BOUNDS_PER_ZONE;
+        if (zoneBounds.length != zones * BOUNDS_PER_ZONE || zoneSpeedsKmHr.length != zones * BUCKETS_PER_DAY) {
+            throw new IllegalArgumentException("Speed profile needs 4 bounds and "
+                    + BUCKETS_PER_DAY + " speeds per zone");
+        }
+        if (defaultSpeedsKmHr.length != BUCKETS_PER_DAY) {
+            throw new IllegalArgumentException("Default speed profile needs " + BUCKETS_PER_DAY + " speeds");
+        }
+
+        float[] speeds = new float[(zones + 1) * BUCKETS_PER_DAY];
+        for (int i = 0; i < speeds.length; i++) {
+            float speed = i < zoneSpeedsKmHr.length
+                    ? zoneSpeedsKmHr[i]
+                    : defaultSpeedsKmHr[i - zoneSpeedsKmHr.length];
+            if (!(speed > 0) || Float.isInfinite(speed)) {
+                throw new IllegalArgumentException("Speeds must be positive, got: " + speed);
+            }
+            speeds[i] = (float) (speed / MINUTES_PER_HOUR);
+        }
+        return new SpeedProfile(zoneBounds.clone(), speeds);
+    }
+
+    private static boolean isFlatPerZone(float[] speeds) {
+        for (int i = 0; i < speeds.length; i++) {
+            if (speeds[i] != speeds[i - i % BUCKETS_PER_DAY]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isTimeInvariant() {
+        return timeInvariant;
+    }
+
+    public int zoneCount() {
+        return defaultZone;
+    }
+
+    public int zoneOf(Location location) {
+        for (int zone = 0; zone < defaultZone; zone++) {
+            int offset = zone * BOUNDS_PER_ZONE;
+            if (location.latitude() >= bounds[offset] && location.longitude() >= bounds[offset + 1]
+                    && location.latitude() <= bounds[offset + 2] && location.longitude() <= bounds[offset + 3]) {
+                return zone;
+            }
+        }
+        return defaultZone;
+    }
+
+    public int[] zonesOf(List<Location> locations) {
+        int[] zones = new int[locations.size()];
+        for (int i = 0; i < zones.length; i++) {
+            zones[i] = zoneOf(locations.get(i));
+        }
+        return zones;
+    }
+
+    public double travelMinutes(int zone, double minuteOfDay, double distanceKm) {
+        int base = zone * BUCKETS_PER_DAY;
+        if (timeInvariant || distanceKm <= 0) {
+            return distanceKm / kmPerMinute[base];
+        }
+
+        double position = minuteOfDay * (1.0 / BUCKET_MINUTES) - 0.5;
+        double remainingKm = distanceKm;
+        double elapsed = 0;
+        while (true) {
+            double floor = Math.floor(position);
+            int bucket = Math.floorMod((int) floor, BUCKETS_PER_DAY);
+            int next = bucket + 1 == BUCKETS_PER_DAY ? 0 : bucket + 1;
+
+            double slope = (kmPerMinute[base + next] - kmPerMinute[base + bucket]) / BUCKET_MINUTES;
+            double offset = (position - floor) * BUCKET_MINUTES;
+            double speed = kmPerMinute[base + bucket] + slope * offset;
+            double span = BUCKET_MINUTES - offset;
+            double reachKm = span * (speed + 0.5 * slope * span);
+            if (remainingKm <= reachKm) {
+                return elapsed + minutesToCover(remainingKm, speed, slope);
+            }
+
+            remainingKm -= reachKm;
+            elapsed += span;
+            position = floor + 1;
+        }
+    }
+
+    private static double minutesToCover(double distanceKm, double speed, double slope) {
+        if (Math.abs(slope) < FLAT_SLOPE) {
+            return distanceKm / speed;
+        }
+        return 2 * distanceKm / (speed + Math.sqrt(Math.max(0, speed * speed + 2 * slope * distanceKm)));
+    }
+}
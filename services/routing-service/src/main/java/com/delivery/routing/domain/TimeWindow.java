@@ -3,11 +3,20 @@ package com.delivery.routing.domain;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.UUID;
+
 @Value
 @Builder
 public class TimeWindow {
     int earliest;
     int latest;
     int serviceTime;
-}
 
+    public static String pickupKey(UUID orderId) {
+        return "R_" + orderId;
+    }
+
+    public static String deliveryKey(UUID orderId) {
+        return "C_" + orderId;
+    }
+}
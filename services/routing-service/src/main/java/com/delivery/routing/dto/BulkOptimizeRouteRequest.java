@@ -0,0 +1,24 @@
+package com.delivery.routing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOptimizeRouteRequest {
+    public static final int MAX_REQUESTS = 1000;
+
+    @NotEmpty(message = "At least one route request is required")
+    @Size(max = MAX_REQUESTS, message = "Bulk request cannot contain more than " + MAX_REQUESTS + " routes")
+    @Valid
+    private List<OptimizeRouteRequest> requests;
+}
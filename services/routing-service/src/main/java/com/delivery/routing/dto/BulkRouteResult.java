@@ -0,0 +1,36 @@
+package com.delivery.routing.dto;
+
+import com.delivery.routing.domain.OptimizedRoute;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRouteResult {
+    private int index;
+    private Integer batchId;
+    private OptimizedRoute route;
+    private String error;
+
+    public static BulkRouteResult success(int index, Integer batchId, OptimizedRoute route) {
+        return BulkRouteResult.builder()
+                .index(index)
+                .batchId(batchId)
+                .route(route)
+                .build();
+    }
+
+    public static BulkRouteResult failure(int index, Integer batchId, String error) {
+        return BulkRouteResult.builder()
+                .index(index)
+                .batchId(batchId)
+                .error(error)
+                .build();
+    }
+}
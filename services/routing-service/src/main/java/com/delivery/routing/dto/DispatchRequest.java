@@ -0,0 +1,33 @@
+package com.delivery.routing.dto;
+
+import com.delivery.routing.domain.ExecutiveLocation;
+import com.delivery.routing.domain.OrderInfo;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchRequest {
+    @NotEmpty(message = "At least one order is required")
+    @Valid
+    private List<OrderInfo> orders;
+
+    @NotEmpty(message = "At least one executive is required")
+    @Valid
+    private List<ExecutiveLocation> executives;
+
+    @Positive(message = "Executive capacity must be positive")
+    private Integer maxOrdersPerExecutive;
+
+    @Positive(message = "Optimization budget must be positive")
+    private Long maxOptimizationMs;
+}
@@ -4,6 +4,7 @@ import com.delivery.routing.domain.DeliveryBatch;
 import com.delivery.routing.domain.ExecutiveLocation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,5 +22,8 @@ public class OptimizeRouteRequest {
     @NotNull(message = "Executive location is required")
     @Valid
     private ExecutiveLocation executiveLocation;
+
+    @Positive(message = "Optimization budget must be positive")
+    private Long maxOptimizationMs;
 }
 
@@ -0,0 +1,36 @@
+package com.delivery.routing.dto;
+
+import com.delivery.routing.domain.DeliveryBatch;
+import com.delivery.routing.domain.RouteDelta;
+import com.delivery.routing.domain.RouteStep;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReoptimizeRouteRequest {
+    @NotNull(message = "Batch is required")
+    @Valid
+    private DeliveryBatch batch;
+
+    @NotEmpty(message = "Current route steps are required")
+    private List<RouteStep> steps;
+
+    @NotNull(message = "Visited step count is required")
+    @Positive(message = "Visited step count must include the start step")
+    private Integer visitedSteps;
+
+    @NotNull(message = "Route delta is required")
+    @Valid
+    private RouteDelta delta;
+}
@@ -0,0 +1,186 @@
+package com.delivery.routing.road;
+
+import com.delivery.routing.domain.DistanceMatrix;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+public final class ContractionHierarchy {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int nodeCount;
+    private final IntBuffer firstUp;
+    private final IntBuffer upTarget;
+    private final FloatBuffer upWeight;
+    private final BlockingDeque<SearchSpace> idle =
+            new LinkedBlockingDeque<>(Runtime.getRuntime().availableProcessors());
+
+    ContractionHierarchy(IntBuffer firstUp, IntBuffer upTarget, FloatBuffer upWeight) {
+        this.nodeCount = firstUp.capacity() - 1;
+        this.firstUp = firstUp;
+        this.upTarget = upTarget;
+        this.upWeight = upWeight;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int upwardEdgeCount() {
+        return upTarget.capacity();
+    }
+
+    public void fillRows(int[] nodes, int firstRow, float[] packedDistances) {
+        SearchSpace space = acquire();
+        try {
+            space.resetBuckets();
+            for (int i = 0; i < nodes.length; i++) {
+                int offset = DistanceMatrix.rowOffset(i);
+                if (i >= firstRow) {
+                    Arrays.fill(packedDistances, offset, offset + i, Float.POSITIVE_INFINITY);
+                }
+                if (nodes[i] == RoadNetwork.NO_NODE) {
+                    continue;
+                }
+
+                int settled = space.upwardSearch(nodes[i]);
+                if (i >= firstRow) {
+                    space.scanBuckets(settled, packedDistances, offset);
+                }
+                space.addToBuckets(settled, i);
+            }
+        } finally {
+            idle.offerFirst(space);
+        }
+    }
+
+    IntBuffer firstUp() {
+        return firstUp.duplicate();
+    }
+
+    IntBuffer upTarget() {
+        return upTarget.duplicate();
+    }
+
+    FloatBuffer upWeight() {
+        return upWeight.duplicate();
+    }
+
+    private SearchSpace acquire() {
+        SearchSpace space = idle.pollFirst();
+        return space != null ? space : new SearchSpace(nodeCount);
+    }
+
+    private final class SearchSpace {
+        private final double[] distance;
+        private final int[] distanceStamp;
+        private final int[] bucketHead;
+        private final int[] bucketStamp;
+        private final NodeHeap heap;
+        private int searchStamp;
+        private int queryStamp;
+
+        private int[] settledNodes = new int[INITIAL_CAPACITY];
+        private double[] settledDistances = new double[INITIAL_CAPACITY];
+        private int[] entryLocation = new int[INITIAL_CAPACITY];
+        private double[] entryDistance = new double[INITIAL_CAPACITY];
+        private int[] entryNext = new int[INITIAL_CAPACITY];
+        private int entryCount;
+
+        private SearchSpace(int nodeCount) {
+            this.distance = new double[nodeCount];
+            this.distanceStamp = new int[nodeCount];
+            this.bucketHead = new int[nodeCount];
+            this.bucketStamp = new int[nodeCount];
+            this.heap = new NodeHeap(nodeCount);
+        }
+
+        private void resetBuckets() {
+            queryStamp++;
+            entryCount = 0;
+        }
+
+        private int upwardSearch(int source) {
+            searchStamp++;
+            heap.clear();
+            distance[source] = 0;
+            distanceStamp[source] = searchStamp;
+            heap.push(source, 0);
+
+            int settled = 0;
+            while (!heap.isEmpty()) {
+                int node = heap.pop();
+                double nodeDistance = distance[node];
+                if (isStalled(node, nodeDistance)) {
+                    continue;
+                }
+
+                if (settled == settledNodes.length) {
+                    settledNodes = Arrays.copyOf(settledNodes, 2 * settled);
+                    settledDistances = Arrays.copyOf(settledDistances, 2 * settled);
+                }
+                settledNodes[settled] = node;
+                settledDistances[settled++] = nodeDistance;
+
+                for (int edge = firstUp.get(node), end = firstUp.get(node + 1); edge < end; edge++) {
+                    int target = upTarget.get(edge);
+                    double candidate = nodeDistance + upWeight.get(edge);
+                    if (distanceStamp[target] != searchStamp || candidate < distance[target]) {
+                        distance[target] = candidate;
+                        distanceStamp[target] = searchStamp;
+                        heap.push(target, candidate);
+                    }
+                }
+            }
+            return settled;
+        }
+
+        private boolean isStalled(int node, double nodeDistance) {
+            for (int edge = firstUp.get(node), end = firstUp.get(node + 1); edge < end; edge++) {
+                int target = upTarget.get(edge);
+                if (distanceStamp[target] == searchStamp && distance[target] + upWeight.get(edge) < nodeDistance) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void scanBuckets(int settled, float[] packedDistances, int offset) {
+            for (int s = 0; s < settled; s++) {
+                int node = settledNodes[s];
+                if (bucketStamp[node] != queryStamp) {
+                    continue;
+                }
+                for (int entry = bucketHead[node]; entry >= 0; entry = entryNext[entry]) {
+                    int index = offset + entryLocation[entry];
+                    float candidate = (float) (settledDistances[s] + entryDistance[entry]);
+                    if (candidate < packedDistances[index]) {
+                        packedDistances[index] = candidate;
+                    }
+                }
+            }
+        }
+
+        private void addToBuckets(int settled, int location) {
+            for (int s = 0; s < settled; s++) {
+                int node = settledNodes[s];
+                if (entryCount == entryLocation.length) {
+                    entryLocation = Arrays.copyOf(entryLocation, 2 * entryCount);
+                    entryDistance = Arrays.copyOf(entryDistance, 2 * entryCount);
+                    entryNext = Arrays.copyOf(entryNext, 2 * entryCount);
+                }
+                if (bucketStamp[node] != queryStamp) {
+                    bucketStamp[node] = queryStamp;
+                    bucketHead[node] = -1;
+                }
+                entryLocation[entryCount] = location;
+                entryDistance[entryCount] = settledDistances[s];
+                entryNext[entryCount] = bucketHead[node];
+                bucketHead[node] = entryCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.delivery.routing.road;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+final class HierarchyContractor {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int WITNESS_SETTLE_LIMIT = 128;
+    private static final int SIMULATION_SETTLE_LIMIT = 32;
+    private static final double EDGE_DIFFERENCE_WEIGHT = 2.0;
+    private static final double DELETED_NEIGHBOR_WEIGHT = 1.0;
+    private static final double LEVEL_WEIGHT = 1.0;
+
+    private final int nodeCount;
+    private final int[][] adjacent;
+    private final float[][] weights;
+    private final int[] degree;
+    private final boolean[] contracted;
+    private final int[] deletedNeighbors;
+    private final int[] level;
+    private final int[] rank;
+
+    private final double[] witnessDistance;
+    private final int[] witnessStamp;
+    private final int[] targetStamp;
+    private final NodeHeap witnessHeap;
+    private int stamp;
+
+    private int[] neighborScratch = new int[INITIAL_CAPACITY];
+    private float[] weightScratch = new float[INITIAL_CAPACITY];
+
+    HierarchyContractor(RoadGraph graph) {
+        this.nodeCount = graph.nodeCount();
+        this.adjacent = new int[nodeCount][];
+        this.weights = new float[nodeCount][];
+        this.degree = new int[nodeCount];
+        this.contracted = new boolean[nodeCount];
+        this.deletedNeighbors = new int[nodeCount];
+        this.level = new int[nodeCount];
+        this.rank = new int[nodeCount];
+        this.witnessDistance = new double[nodeCount];
+        this.witnessStamp = new int[nodeCount];
+        this.targetStamp = new int[nodeCount];
+        this.witnessHeap = new NodeHeap(nodeCount);
+
+        for (int node = 0; node < nodeCount; node++) {
+            int edges = graph.endEdge(node) - graph.firstEdge(node);
+            adjacent[node] = new int[Math.max(INITIAL_CAPACITY, edges)];
+            weights[node] = new float[Math.max(INITIAL_CAPACITY, edges)];
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int target = graph.edgeTarget(edge);
+                if (target != node) {
+                    addArc(node, target, graph.edgeWeightKm(edge));
+                }
+            }
+        }
+    }
+
+    ContractionHierarchy contract() {
+        NodeHeap queue = new NodeHeap(nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            queue.push(node, priority(node));
+        }
+
+        int nextRank = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.pop();
+            contractNode(node, true);
+            contracted[node] = true;
+            rank[node] = nextRank++;
+            int[] neighbors = Arrays.copyOf(neighborScratch, collectActiveNeighbors(node));
+            for (int neighbor : neighbors) {
+                deletedNeighbors[neighbor]++;
+                level[neighbor] = Math.max(level[neighbor], level[node] + 1);
+                queue.update(neighbor, priority(neighbor));
+            }
+        }
+        return upwardHierarchy();
+    }
+
+    private double priority(int node) {
+        int shortcuts = contractNode(node, false);
+        return EDGE_DIFFERENCE_WEIGHT * (shortcuts - activeDegree(node))
+                + DELETED_NEIGHBOR_WEIGHT * deletedNeighbors[node]
+                + LEVEL_WEIGHT * level[node];
+    }
+
+    private int contractNode(int node, boolean apply) {
+        int count = collectActiveNeighbors(node);
+        int[] neighbors = neighborScratch;
+        float[] neighborWeights = weightScratch;
+        int settleLimit = apply ? WITNESS_SETTLE_LIMIT : SIMULATION_SETTLE_LIMIT;
+
+        int shortcuts = 0;
+        for (int i = 0; i < count - 1; i++) {
+            float maxWeight = 0;
+            for (int j = i + 1; j < count; j++) {
+                maxWeight = Math.max(maxWeight, neighborWeights[j]);
+            }
+            witnessSearch(neighbors[i], node, neighbors, i + 1, count, neighborWeights[i] + maxWeight, settleLimit);
+
+            for (int j = i + 1; j < count; j++) {
+                float viaNode = neighborWeights[i] + neighborWeights[j];
+                if (witnessDistance(neighbors[j]) > viaNode) {
+                    shortcuts++;
+                    if (apply) {
+                        addEdge(neighbors[i], neighbors[j], viaNode);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    private void witnessSearch(
+            int source,
+            int excluded,
+            int[] targets,
+            int from,
+            int to,
+            double limit,
+            int settleLimit
+    ) {
+        stamp++;
+        witnessHeap.clear();
+        for (int j = from; j < to; j++) {
+            targetStamp[targets[j]] = stamp;
+        }
+        witnessDistance[source] = 0;
+        witnessStamp[source] = stamp;
+        witnessHeap.push(source, 0);
+
+        int remainingTargets = to - from;
+        int settled = 0;
+        while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled++ < settleLimit) {
+            int node = witnessHeap.pop();
+            if (targetStamp[node] == stamp && --remainingTargets == 0) {
+                return;
+            }
+            double distance = witnessDistance[node];
+            for (int i = 0; i < degree[node]; i++) {
+                int target = adjacent[node][i];
+                if (target == excluded || contracted[target]) {
+                    continue;
+                }
+                double candidate = distance + weights[node][i];
+                if (witnessStamp[target] != stamp || candidate < witnessDistance[target]) {
+                    witnessDistance[target] = candidate;
+                    witnessStamp[target] = stamp;
+                    witnessHeap.push(target, candidate);
+                }
+            }
+        }
+    }
+
+    private double witnessDistance(int node) {
+        return witnessStamp[node] == stamp ? witnessDistance[node] : Double.POSITIVE_INFINITY;
+    }
+
+    private int collectActiveNeighbors(int node) {
+        if (neighborScratch.length < degree[node]) {
+            neighborScratch = new int[degree[node]];
+            weightScratch = new float[degree[node]];
+        }
+        int count = 0;
+        for (int i = 0; i < degree[node]; i++) {
+            if (!contracted[adjacent[node][i]]) {
+                neighborScratch[count] = adjacent[node][i];
+                weightScratch[count++] = weights[node][i];
+            }
+        }
+        return count;
+    }
+
+    private int activeDegree(int node) {
+        int count = 0;
+        for (int i = 0; i < degree[node]; i++) {
+            if (!contracted[adjacent[node][i]]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void addEdge(int from, int to, float weight) {
+        addArc(from, to, weight);
+        addArc(to, from, weight);
+    }
+
+    private void addArc(int from, int to, float weight) {
+        for (int i = 0; i < degree[from]; i++) {
+            if (adjacent[from][i] == to) {
+                weights[from][i] = Math.min(weights[from][i], weight);
+                return;
+            }
+        }
+        if (degree[from] == adjacent[from].length) {
+            adjacent[from] = Arrays.copyOf(adjacent[from], 2 * degree[from]);
+            weights[from] = Arrays.copyOf(weights[from], 2 * degree[from]);
+        }
+        adjacent[from][degree[from]] = to;
+        weights[from][degree[from]++] = weight;
+    }
+
+    private ContractionHierarchy upwardHierarchy() {
+        int[] firstUp = new int[nodeCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            int upward = 0;
+            for (int i = 0; i < degree[node]; i++) {
+                if (rank[adjacent[node][i]] > rank[node]) {
+                    upward++;
+                }
+            }
+            firstUp[node + 1] = firstUp[node] + upward;
+        }
+
+        int[] upTarget = new int[firstUp[nodeCount]];
+        float[] upWeight = new float[firstUp[nodeCount]];
+        for (int node = 0; node < nodeCount; node++) {
+            int edge = firstUp[node];
+            for (int i = 0; i < degree[node]; i++) {
+                if (rank[adjacent[node][i]] > rank[node]) {
+                    upTarget[edge] = adjacent[node][i];
+                    upWeight[edge++] = weights[node][i];
+                }
+            }
+        }
+        return new ContractionHierarchy(IntBuffer.wrap(firstUp), IntBuffer.wrap(upTarget), FloatBuffer.wrap(upWeight));
+    }
+}
@@ -0,0 +1,123 @@
+package com.delivery.routing.road;
+
+import java.util.Arrays;
+
+final class NodeHeap {
+    private static final int ABSENT = -1;
+
+    private final int[] heapIndex;
+    private int[] nodes = new int[64];
+    private double[] keys = new double[64];
+    private int size;
+
+    NodeHeap(int nodeCount) {
+        this.heapIndex = new int[nodeCount];
+        Arrays.fill(heapIndex, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    void push(int node, double key) {
+        int index = heapIndex[node];
+        if (index == ABSENT) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            index = size++;
+            nodes[index] = node;
+            heapIndex[node] = index;
+        } else if (key >= keys[index]) {
+            return;
+        }
+        keys[index] = key;
+        siftUp(index);
+    }
+
+    void update(int node, double key) {
+        int index = heapIndex[node];
+        if (index == ABSENT) {
+            push(node, key);
+            return;
+        }
+        double previous = keys[index];
+        keys[index] = key;
+        if (key < previous) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    int pop() {
+        int top = nodes[0];
+        heapIndex[top] = ABSENT;
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            keys[0] = keys[size];
+            heapIndex[nodes[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            heapIndex[nodes[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int node = nodes[index];
+        double key = keys[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        place(node, key, index);
+    }
+
+    private void siftDown(int index) {
+        int node = nodes[index];
+        double key = keys[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        place(node, key, index);
+    }
+
+    private void move(int from, int to) {
+        nodes[to] = nodes[from];
+        keys[to] = keys[from];
+        heapIndex[nodes[to]] = to;
+    }
+
+    private void place(int node, double key, int index) {
+        nodes[index] = node;
+        keys[index] = key;
+        heapIndex[node] = index;
+    }
+}
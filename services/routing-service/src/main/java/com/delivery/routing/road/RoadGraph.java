@@ -0,0 +1,105 @@
+package com.delivery.routing.road;
+
+import java.util.Arrays;
+
+public final class RoadGraph {
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] firstEdge;
+    private final int[] edgeTarget;
+    private final float[] edgeWeightKm;
+
+    private RoadGraph(double[] latitudes, double[] longitudes, int[] firstEdge, int[] edgeTarget, float[] edgeWeightKm) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.firstEdge = firstEdge;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeightKm = edgeWeightKm;
+    }
+
+    public static RoadGraph of(double[] latitudes, double[] longitudes, int[] from, int[] to, float[] weightKm) {
+        int nodeCount = latitudes.length;
+        int[] firstEdge = new int[nodeCount + 1];
+        for (int e = 0; e < from.length; e++) {
+            validateEdge(from[e], to[e], weightKm[e], nodeCount);
+            firstEdge[from[e] + 1]++;
+            firstEdge[to[e] + 1]++;
+        }
+        rejectReversedEdges(from, to);
+        for (int node = 0; node < nodeCount; node++) {
+            firstEdge[node + 1] += firstEdge[node];
+        }
+
+        int[] cursor = Arrays.copyOf(firstEdge, nodeCount);
+        int[] edgeTarget = new int[2 * from.length];
+        float[] edgeWeight = new float[2 * from.length];
+        for (int e = 0; e < from.length; e++) {
+            int forward = cursor[from[e]]++;
+            edgeTarget[forward] = to[e];
+            edgeWeight[forward] = weightKm[e];
+            int backward = cursor[to[e]]++;
+            edgeTarget[backward] = from[e];
+            edgeWeight[backward] = weightKm[e];
+        }
+        return new RoadGraph(latitudes, longitudes, firstEdge, edgeTarget, edgeWeight);
+    }
+
+    public int nodeCount() {
+        return latitudes.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length / 2;
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public float edgeWeightKm(int edge) {
+        return edgeWeightKm[edge];
+    }
+
+    public double latitude(int node) {
+        return latitudes[node];
+    }
+
+    public double longitude(int node) {
+        return longitudes[node];
+    }
+
+    private static void rejectReversedEdges(int[] from, int[] to) {
+        long[] edges = new long[from.length];
+        for (int e = 0; e < from.length; e++) {
+            edges[e] = edgeKey(from[e], to[e]);
+        }
+        Arrays.sort(edges);
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] != to[e] && Arrays.binarySearch(edges, edgeKey(to[e], from[e])) >= 0) {
+                throw new IllegalArgumentException("Edge " + from[e] + " -> " + to[e]
+                        + " is also listed in reverse; road graphs are undirected, list each two-way segment once");
+            }
+        }
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static void validateEdge(int from, int to, float weightKm, int nodeCount) {
+        if (from < 0 || from >= nodeCount || to < 0 || to >= nodeCount) {
+            throw new IllegalArgumentException("Edge " + from + " -> " + to + " references a missing node");
+        }
+        if (!(weightKm >= 0) || Float.isInfinite(weightKm)) {
+            throw new IllegalArgumentException("Edge " + from + " -> " + to + " has invalid weight: " + weightKm);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.delivery.routing.road;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+public final class RoadGraphLoader {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final double METERS_PER_KM = 1000.0;
+
+    private RoadGraphLoader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static RoadGraph load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String[] header = nextRecord(reader, path);
+            int nodeCount = Integer.parseInt(header[0]);
+            int edgeCount = Integer.parseInt(header[1]);
+
+            double[] latitudes = new double[nodeCount];
+            double[] longitudes = new double[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                String[] record = nextRecord(reader, path);
+                latitudes[node] = Double.parseDouble(record[0]);
+                longitudes[node] = Double.parseDouble(record[1]);
+            }
+
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            float[] weightKm = new float[edgeCount];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                String[] record = nextRecord(reader, path);
+                from[edge] = Integer.parseInt(record[0]);
+                to[edge] = Integer.parseInt(record[1]);
+                weightKm[edge] = (float) (Double.parseDouble(record[2]) / METERS_PER_KM);
+            }
+            return RoadGraph.of(latitudes, longitudes, from, to, weightKm);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed road graph file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String[] nextRecord(BufferedReader reader, Path path) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (!line.isEmpty() && line.charAt(0) != '#') {
+                return WHITESPACE.split(line);
+            }
+        }
+        throw new IOException("Unexpected end of road graph file " + path);
+    }
+}
@@ -0,0 +1,142 @@
+package com.delivery.routing.road;
+
+import com.delivery.common.domain.Location;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+public final class RoadNetwork {
+    public static final int NO_NODE = -1;
+
+    static final int NODE_BITS = 28;
+    static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private static final double SNAP_CELL_DEGREES = 0.002;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double MIN_COS_LATITUDE = 0.01;
+    private static final int SNAP_COLUMNS = (int) Math.ceil(360 / SNAP_CELL_DEGREES) + 1;
+
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final LongBuffer cellEntries;
+    private final ContractionHierarchy hierarchy;
+
+    RoadNetwork(DoubleBuffer latitudes, DoubleBuffer longitudes, LongBuffer cellEntries, ContractionHierarchy hierarchy) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.cellEntries = cellEntries;
+        this.hierarchy = hierarchy;
+    }
+
+    public static RoadNetwork contract(RoadGraph graph) {
+        int nodeCount = graph.nodeCount();
+        if (nodeCount > NODE_MASK) {
+            throw new IllegalArgumentException("Road graph has too many nodes: " + nodeCount);
+        }
+
+        double[] latitudes = new double[nodeCount];
+        double[] longitudes = new double[nodeCount];
+        long[] entries = new long[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            latitudes[node] = graph.latitude(node);
+            longitudes[node] = graph.longitude(node);
+            entries[node] = (cell(row(latitudes[node]), column(longitudes[node])) << NODE_BITS) | node;
+        }
+        Arrays.sort(entries);
+
+        return new RoadNetwork(
+                DoubleBuffer.wrap(latitudes),
+                DoubleBuffer.wrap(longitudes),
+                LongBuffer.wrap(entries),
+                new HierarchyContractor(graph).contract());
+    }
+
+    public int nodeCount() {
+        return latitudes.capacity();
+    }
+
+    public ContractionHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    public Location location(int node) {
+        return Location.of(latitudes.get(node), longitudes.get(node));
+    }
+
+    public int nearestNode(Location location, double maxDistanceKm) {
+        int centerRow = row(location.latitude());
+        int centerColumn = column(location.longitude());
+        double cosLatitude = Math.cos(Math.toRadians(location.latitude()));
+        double ringWidthKm = SNAP_CELL_DEGREES * KM_PER_DEGREE * Math.max(MIN_COS_LATITUDE, cosLatitude);
+        int maxRing = (int) Math.ceil(maxDistanceKm / ringWidthKm) + 1;
+
+        int nearest = NO_NODE;
+        double nearestKm = maxDistanceKm;
+        for (int ring = 0; ring <= maxRing && (ring - 1) * ringWidthKm <= nearestKm; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                int step = row == centerRow - ring || row == centerRow + ring ? 1 : Math.max(1, 2 * ring);
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    long cell = cell(row, column);
+                    for (int i = lowerBound(cell << NODE_BITS);
+                         i < cellEntries.capacity() && cellEntries.get(i) >>> NODE_BITS == cell; i++) {
+                        int node = (int) (cellEntries.get(i) & NODE_MASK);
+                        double distance = equirectangularKm(location, cosLatitude, node);
+                        if (distance <= nearestKm) {
+                            nearest = node;
+                            nearestKm = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    DoubleBuffer latitudes() {
+        return latitudes.duplicate();
+    }
+
+    DoubleBuffer longitudes() {
+        return longitudes.duplicate();
+    }
+
+    LongBuffer cellEntries() {
+        return cellEntries.duplicate();
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = cellEntries.capacity();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cellEntries.get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private double equirectangularKm(Location location, double cosLatitude, int node) {
+        double north = latitudes.get(node) - location.latitude();
+        double east = (longitudes.get(node) - location.longitude()) * cosLatitude;
+        return Math.sqrt(north * north + east * east) * KM_PER_DEGREE;
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / SNAP_CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / SNAP_CELL_DEGREES);
+    }
+
+    private static long cell(int row, int column) {
+        if (row < 0 || column < 0 || column >= SNAP_COLUMNS) {
+            return -1;
+        }
+        return (long) row * SNAP_COLUMNS + column;
+    }
+}
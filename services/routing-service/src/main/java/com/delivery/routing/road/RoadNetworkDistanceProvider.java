@@ -0,0 +1,97 @@
+package com.delivery.routing.road;
+
+import com.delivery.common.domain.Location;
+import com.delivery.routing.algorithm.DistanceProvider;
+import com.delivery.routing.domain.DistanceMatrix;
+import com.delivery.routing.util.GeoCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "routing.distance.provider", havingValue = "ROAD_NETWORK")
+@Slf4j
+public class RoadNetworkDistanceProvider implements DistanceProvider {
+    private final GeoCalculator geoCalculator;
+    private final double maxSnapKm;
+    private final RoadNetwork network;
+
+    public RoadNetworkDistanceProvider(
+            @Value("${routing.distance.road-graph-path}") String roadGraphPath,
+            @Value("${routing.distance.max-snap-km:0.5}") double maxSnapKm,
+            GeoCalculator geoCalculator
+    ) {
+        this.geoCalculator = geoCalculator;
+        this.maxSnapKm = maxSnapKm;
+
+        long start = System.nanoTime();
+        try {
+            this.network = load(Path.of(roadGraphPath));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load road graph from " + roadGraphPath, e);
+        }
+
+        log.info("Loaded road network {} with {} nodes and {} upward edges in {} ms",
+                roadGraphPath, network.nodeCount(), network.hierarchy().upwardEdgeCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public float[] packedDistances(List<Location> locations) {
+        return fillRows(new float[DistanceMatrix.packedLength(locations.size())], locations, 1);
+    }
+
+    @Override
+    public float[] extend(float[] packedDistances, List<Location> locations, int firstNewRow) {
+        float[] distances = Arrays.copyOf(packedDistances, DistanceMatrix.packedLength(locations.size()));
+        return fillRows(distances, locations, firstNewRow);
+    }
+
+    private RoadNetwork load(Path path) throws IOException {
+        if (RoadNetworkFile.isNetworkFile(path)) {
+            return RoadNetworkFile.map(path);
+        }
+        log.info("Road graph {} is not a precontracted network file, contracting it at startup", path);
+        return RoadNetwork.contract(RoadGraphLoader.load(path));
+    }
+
+    private float[] fillRows(float[] distances, List<Location> locations, int firstRow) {
+        int n = locations.size();
+        int[] nodes = new int[n];
+        double[] accessKm = new double[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = network.nearestNode(locations.get(i), maxSnapKm);
+            if (nodes[i] != RoadNetwork.NO_NODE) {
+                accessKm[i] = geoCalculator.haversineDistance(locations.get(i), network.location(nodes[i]));
+            }
+        }
+
+        network.hierarchy().fillRows(nodes, firstRow, distances);
+
+        int offRoadLegs = 0;
+        for (int row = firstRow; row < n; row++) {
+            int offset = DistanceMatrix.rowOffset(row);
+            for (int column = 0; column < row; column++) {
+                if (Float.isInfinite(distances[offset + column])) {
+                    distances[offset + column] = (float) geoCalculator.haversineDistance(
+                            locations.get(row), locations.get(column));
+                    offRoadLegs++;
+                } else {
+                    distances[offset + column] += (float) (accessKm[row] + accessKm[column]);
+                }
+            }
+        }
+
+        if (offRoadLegs > 0) {
+            log.debug("Priced {} legs by straight-line distance: locations were off the road graph or unreachable",
+                    offRoadLegs);
+        }
+        return distances;
+    }
+}
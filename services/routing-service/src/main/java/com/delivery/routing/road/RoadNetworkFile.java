@@ -0,0 +1,183 @@
+package com.delivery.routing.road;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public final class RoadNetworkFile {
+    private static final long MAGIC = 0x3130485043524452L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int ALIGNMENT = 8;
+    private static final int WRITE_CHUNK_BYTES = 1 << 20;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private RoadNetworkFile() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static boolean isNetworkFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).order(ORDER);
+            channel.read(header, 0);
+            return header.getLong(0) == MAGIC;
+        }
+    }
+
+    public static RoadNetwork map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ORDER);
+            if (header.getLong(0) != MAGIC) {
+                throw new IOException(path + " is not a road network file");
+            }
+            if (header.getInt(8) != VERSION) {
+                throw new IOException("Unsupported road network file version " + header.getInt(8) + " in " + path);
+            }
+
+            int nodeCount = header.getInt(12);
+            int upwardEdgeCount = header.getInt(16);
+            Layout layout = Layout.of(nodeCount, upwardEdgeCount);
+            if (channel.size() != layout.totalBytes()) {
+                throw new IOException("Road network file " + path + " is truncated: expected "
+                        + layout.totalBytes() + " bytes, found " + channel.size());
+            }
+
+            return new RoadNetwork(
+                    section(channel, layout.latitudes(), (long) nodeCount * Double.BYTES).asDoubleBuffer(),
+                    section(channel, layout.longitudes(), (long) nodeCount * Double.BYTES).asDoubleBuffer(),
+                    section(channel, layout.cellEntries(), (long) nodeCount * Long.BYTES).asLongBuffer(),
+                    new ContractionHierarchy(
+                            section(channel, layout.firstUp(), (long) (nodeCount + 1) * Integer.BYTES).asIntBuffer(),
+                            section(channel, layout.upTarget(), (long) upwardEdgeCount * Integer.BYTES).asIntBuffer(),
+                            section(channel, layout.upWeight(), (long) upwardEdgeCount * Float.BYTES).asFloatBuffer()));
+        }
+    }
+
+    public static void write(RoadNetwork network, Path path) throws IOException {
+        ContractionHierarchy hierarchy = network.hierarchy();
+        Layout layout = Layout.of(network.nodeCount(), hierarchy.upwardEdgeCount());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            header.putLong(MAGIC).putInt(VERSION).putInt(network.nodeCount()).putInt(hierarchy.upwardEdgeCount());
+            header.clear();
+            writeFully(channel, header, 0);
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(WRITE_CHUNK_BYTES).order(ORDER);
+            writeDoubles(channel, chunk, network.latitudes(), layout.latitudes());
+            writeDoubles(channel, chunk, network.longitudes(), layout.longitudes());
+            writeLongs(channel, chunk, network.cellEntries(), layout.cellEntries());
+            writeInts(channel, chunk, hierarchy.firstUp(), layout.firstUp());
+            writeInts(channel, chunk, hierarchy.upTarget(), layout.upTarget());
+            writeFloats(channel, chunk, hierarchy.upWeight(), layout.upWeight());
+            if (channel.size() < layout.totalBytes()) {
+                writeFully(channel, ByteBuffer.allocate(1), layout.totalBytes() - 1);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer section(FileChannel channel, long offset, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Road network section of " + bytes + " bytes exceeds the mappable size");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes);
+        return buffer.order(ORDER);
+    }
+
+    private static void writeDoubles(FileChannel channel, ByteBuffer chunk, DoubleBuffer values, long offset)
+            throws IOException {
+        values.rewind();
+        while (values.hasRemaining()) {
+            chunk.clear();
+            while (values.hasRemaining() && chunk.remaining() >= Double.BYTES) {
+                chunk.putDouble(values.get());
+            }
+            offset = flush(channel, chunk, offset);
+        }
+    }
+
+    private static void writeLongs(FileChannel channel, ByteBuffer chunk, LongBuffer values, long offset)
+            throws IOException {
+        values.rewind();
+        while (values.hasRemaining()) {
+            chunk.clear();
+            while (values.hasRemaining() && chunk.remaining() >= Long.BYTES) {
+                chunk.putLong(values.get());
+            }
+            offset = flush(channel, chunk, offset);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer chunk, IntBuffer values, long offset)
+            throws IOException {
+        values.rewind();
+        while (values.hasRemaining()) {
+            chunk.clear();
+            while (values.hasRemaining() && chunk.remaining() >= Integer.BYTES) {
+                chunk.putInt(values.get());
+            }
+            offset = flush(channel, chunk, offset);
+        }
+    }
+
+    private static void writeFloats(FileChannel channel, ByteBuffer chunk, FloatBuffer values, long offset)
+            throws IOException {
+        values.rewind();
+        while (values.hasRemaining()) {
+            chunk.clear();
+            while (values.hasRemaining() && chunk.remaining() >= Float.BYTES) {
+                chunk.putFloat(values.get());
+            }
+            offset = flush(channel, chunk, offset);
+        }
+    }
+
+    private static long flush(FileChannel channel, ByteBuffer chunk, long offset) throws IOException {
+        chunk.flip();
+        int bytes = chunk.remaining();
+        writeFully(channel, chunk, offset);
+        return offset + bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private record Layout(long latitudes, long longitudes, long cellEntries, long firstUp, long upTarget,
+                          long upWeight, long totalBytes) {
+
+        private static Layout of(int nodeCount, int upwardEdgeCount) {
+            long latitudes = HEADER_BYTES;
+            long longitudes = latitudes + align((long) nodeCount * Double.BYTES);
+            long cellEntries = longitudes + align((long) nodeCount * Double.BYTES);
+            long firstUp = cellEntries + align((long) nodeCount * Long.BYTES);
+            long upTarget = firstUp + align((long) (nodeCount + 1) * Integer.BYTES);
+            long upWeight = upTarget + align((long) upwardEdgeCount * Integer.BYTES);
+            long totalBytes = upWeight + align((long) upwardEdgeCount * Float.BYTES);
+            return new Layout(latitudes, longitudes, cellEntries, firstUp, upTarget, upWeight, totalBytes);
+        }
+
+        private static long align(long bytes) {
+            return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        }
+    }
+}
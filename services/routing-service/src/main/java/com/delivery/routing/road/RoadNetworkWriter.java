@@ -0,0 +1,30 @@
+package com.delivery.routing.road;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Slf4j
+public final class RoadNetworkWriter {
+
+    private RoadNetworkWriter() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: RoadNetworkWriter <road-graph.txt> <road-network.bin>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        RoadGraph graph = RoadGraphLoader.load(Path.of(args[0]));
+        RoadNetwork network = RoadNetwork.contract(graph);
+        RoadNetworkFile.write(network, Path.of(args[1]));
+
+        log.info("Wrote road network {} with {} nodes and {} upward edges in {} ms",
+                args[1], network.nodeCount(), network.hierarchy().upwardEdgeCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,125 @@
+package com.delivery.routing.service;
+
+import com.delivery.routing.domain.OptimizedRoute;
+import com.delivery.routing.dto.BulkRouteResult;
+import com.delivery.routing.dto.OptimizeRouteRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkRouteOptimizationService {
+    private final RouteOptimizationService routeOptimizationService;
+    private final RouteCache routeCache;
+    private final ExecutorService routingExecutorService;
+
+    @Value("${routing.bulk.max-concurrency:16}")
+    private int maxConcurrency;
+
+    public CompletableFuture<Void> optimizeAll(
+            List<OptimizeRouteRequest> requests,
+            Consumer<BulkRouteResult> onResult
+    ) {
+        log.info("Starting bulk route optimization for {} batches", requests.size());
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<String, CompletableFuture<OptimizedRoute>> solving = new ConcurrentHashMap<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        CompletableFuture<?>[] results = new CompletableFuture<?>[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            OptimizeRouteRequest request = requests.get(i);
+            results[i] = solve(request, solving, permits, aborted)
+                    .handle((route, error) -> toResult(index, request, route, error))
+                    .thenAccept(result -> publish(result, onResult, aborted));
+        }
+
+        return CompletableFuture.allOf(results)
+                .whenComplete((ignored, error) -> log.info(
+                        "Finished bulk route optimization: {} batches, {} distinct problems",
+                        requests.size(), solving.size()));
+    }
+
+    private CompletableFuture<OptimizedRoute> solve(
+            OptimizeRouteRequest request,
+            Map<String, CompletableFuture<OptimizedRoute>> solving,
+            Semaphore permits,
+            AtomicBoolean aborted
+    ) {
+        String key = problemKey(request);
+        if (key == null) {
+            return submit(request, permits, aborted);
+        }
+        return solving.computeIfAbsent(key, ignored -> submit(request, permits, aborted));
+    }
+
+    private CompletableFuture<OptimizedRoute> submit(
+            OptimizeRouteRequest request,
+            Semaphore permits,
+            AtomicBoolean aborted
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                if (aborted.get()) {
+                    throw new CancellationException("Bulk optimization aborted");
+                }
+                return routeOptimizationService.findOptimalRoute(
+                        request.getBatch(),
+                        request.getExecutiveLocation(),
+                        request.getMaxOptimizationMs()
+                );
+            } finally {
+                permits.release();
+            }
+        }, routingExecutorService);
+    }
+
+    private String problemKey(OptimizeRouteRequest request) {
+        if (request.getBatch() == null || request.getBatch().getOrders() == null
+                || request.getExecutiveLocation() == null || request.getExecutiveLocation().getLocation() == null) {
+            return null;
+        }
+        return routeCache.fingerprint(request.getBatch(), request.getExecutiveLocation())
+                + ":" + request.getMaxOptimizationMs();
+    }
+
+    private BulkRouteResult toResult(int index, OptimizeRouteRequest request, OptimizedRoute route, Throwable error) {
+        Integer batchId = request.getBatch() != null ? request.getBatch().getId() : null;
+        if (error == null) {
+            return BulkRouteResult.success(index, batchId, route);
+        }
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        log.warn("Bulk route optimization failed for batch {}: {}", batchId, cause.getMessage());
+        return BulkRouteResult.failure(index, batchId, cause.getMessage());
+    }
+
+    private void publish(BulkRouteResult result, Consumer<BulkRouteResult> onResult, AtomicBoolean aborted) {
+        if (aborted.get()) {
+            return;
+        }
+        try {
+            onResult.accept(result);
+        } catch (RuntimeException e) {
+            if (aborted.compareAndSet(false, true)) {
+                log.warn("Stopping bulk route optimization, result delivery failed: {}", e.getMessage());
+            }
+        }
+    }
+}
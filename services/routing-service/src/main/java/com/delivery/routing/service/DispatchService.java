@@ -0,0 +1,166 @@
+package com.delivery.routing.service;
+
+import com.delivery.common.domain.Location;
+import com.delivery.common.domain.OrderStatus;
+import com.delivery.routing.algorithm.DispatchSolver;
+import com.delivery.routing.algorithm.DistanceMatrixBuilder;
+import com.delivery.routing.domain.*;
+import com.delivery.routing.exception.InvalidBatchException;
+import com.delivery.routing.exception.RouteOptimizationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DispatchService {
+    private final DispatchSolver dispatchSolver;
+    private final DistanceMatrixBuilder distanceMatrixBuilder;
+    private final RouteOptimizationService routeOptimizationService;
+    private final ExecutorService routingExecutorService;
+
+    @Value("${routing.dispatch.max-orders:2000}")
+    private int maxOrders;
+
+    @Value("${routing.dispatch.max-executives:500}")
+    private int maxExecutives;
+
+    @Value("${routing.dispatch.max-orders-per-executive:3}")
+    private int defaultCapacity;
+
+    @Value("${routing.dispatch.improvement-ms:1000}")
+    private long defaultImprovementMs;
+
+    @Value("${routing.optimization.max-batch-size:14}")
+    private int maxBatchSize;
+
+    public DispatchPlan dispatch(
+            List<OrderInfo> orders,
+            List<ExecutiveLocation> executives,
+            Integer maxOrdersPerExecutive,
+            Long maxOptimizationMs
+    ) {
+        long startTime = System.currentTimeMillis();
+        validate(orders, executives);
+
+        int capacity = Math.min(maxOrdersPerExecutive != null ? maxOrdersPerExecutive : defaultCapacity, maxBatchSize);
+        long budgetMs = maxOptimizationMs != null ? maxOptimizationMs : defaultImprovementMs;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        log.info("Dispatching {} orders over {} executives with capacity {}", orders.size(), executives.size(), capacity);
+
+        DistanceMatrix matrix = distanceMatrixBuilder.build(dispatchLocations(orders, executives));
+        DispatchSolver.Plan plan = dispatchSolver.solve(matrix, executives.size(), capacity, deadlineNanos);
+
+        List<DispatchPlan.Assignment> assignments = sequenceRoutes(plan, matrix, orders, executives, deadlineNanos);
+
+        return DispatchPlan.builder()
+                .assignments(assignments)
+                .unassignedOrderIds(IntStream.of(plan.unassigned())
+                        .mapToObj(order -> orders.get(order).getOrderId())
+                        .toList())
+                .totalDistanceKm(assignments.stream()
+                        .mapToDouble(assignment -> assignment.getRoute().getTotalDistanceKm())
+                        .sum())
+                .optimizationTimeMs(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    private List<Location> dispatchLocations(List<OrderInfo> orders, List<ExecutiveLocation> executives) {
+        List<Location> locations = new ArrayList<>(executives.size() + 2 * orders.size());
+        executives.forEach(executive -> locations.add(executive.toLocation()));
+        orders.forEach(order -> {
+            locations.add(order.getRestaurantLocation());
+            locations.add(order.getDeliveryLocation());
+        });
+        return locations;
+    }
+
+    private List<DispatchPlan.Assignment> sequenceRoutes(
+            DispatchSolver.Plan plan,
+            DistanceMatrix matrix,
+            List<OrderInfo> orders,
+            List<ExecutiveLocation> executives,
+            long deadlineNanos
+    ) {
+        List<CompletableFuture<DispatchPlan.Assignment>> futures = new ArrayList<>();
+        int[][] assignments = plan.assignments();
+        long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+
+        for (int e = 0; e < assignments.length; e++) {
+            if (assignments[e].length == 0) {
+                continue;
+            }
+            ExecutiveLocation executive = executives.get(e);
+            DeliveryBatch batch = DeliveryBatch.builder()
+                    .id(futures.size() + 1)
+                    .executiveId(executive.getExecutiveId())
+                    .orders(IntStream.of(assignments[e]).mapToObj(orders::get).toList())
+                    .status(DeliveryBatch.BatchStatus.PENDING)
+                    .createdAt(Instant.now())
+                    .build();
+            int[] pickupNodes = IntStream.of(assignments[e])
+                    .map(order -> executives.size() + 2 * order)
+                    .toArray();
+            DistanceMatrix batchMatrix = distanceMatrixBuilder.select(matrix, e, pickupNodes, batch, executive);
+
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> DispatchPlan.Assignment.builder()
+                            .executiveId(executive.getExecutiveId())
+                            .route(routeOptimizationService.findOptimalRoute(
+                                    batch, executive, batchMatrix, remainingMs))
+                            .build(),
+                    routingExecutorService
+            ));
+        }
+
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw new RouteOptimizationException("Failed to sequence dispatched routes", e.getCause());
+        }
+    }
+
+    private void validate(List<OrderInfo> orders, List<ExecutiveLocation> executives) {
+        if (orders == null || orders.isEmpty()) {
+            throw new InvalidBatchException("Dispatch must contain at least one order");
+        }
+        if (orders.size() > maxOrders) {
+            throw new InvalidBatchException("Dispatch order count exceeds maximum allowed: " + maxOrders);
+        }
+        if (executives == null || executives.isEmpty()) {
+            throw new InvalidBatchException("Dispatch must contain at least one executive");
+        }
+        if (executives.size() > maxExecutives) {
+            throw new InvalidBatchException("Dispatch executive count exceeds maximum allowed: " + maxExecutives);
+        }
+
+        Set<UUID> orderIds = new HashSet<>();
+        for (OrderInfo order : orders) {
+            if (order.getRestaurantLocation() == null || order.getDeliveryLocation() == null) {
+                throw new InvalidBatchException("Order locations cannot be null: " + order.getOrderId());
+            }
+            if (order.getStatus() != null && order.getStatus() != OrderStatus.PENDING) {
+                throw new InvalidBatchException("Only PENDING orders can be dispatched: " + order.getOrderId());
+            }
+            if (!orderIds.add(order.getOrderId())) {
+                throw new InvalidBatchException("Duplicate order in dispatch: " + order.getOrderId());
+            }
+        }
+        for (ExecutiveLocation executive : executives) {
+            if (executive.getLocation() == null) {
+                throw new InvalidBatchException("Executive location coordinates cannot be null: " + executive.getExecutiveId());
+            }
+        }
+    }
+}
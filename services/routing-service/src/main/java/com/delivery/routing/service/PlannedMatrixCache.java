@@ -0,0 +1,41 @@
+package com.delivery.routing.service;
+
+import com.delivery.routing.domain.DistanceMatrix;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class PlannedMatrixCache {
+    private static final String CACHE_NAME = "routing.planned-matrix";
+
+    private final Cache<Integer, DistanceMatrix> cache;
+
+    public PlannedMatrixCache(
+            @Value("${routing.reoptimization.matrix-cache-size:5000}") long maximumSize,
+            @Value("${routing.reoptimization.matrix-cache-ttl-minutes:90}") long ttlMinutes,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<DistanceMatrix> get(int batchId) {
+        return Optional.ofNullable(cache.getIfPresent(batchId));
+    }
+
+    public void put(int batchId, DistanceMatrix matrix) {
+        cache.put(batchId, matrix);
+    }
+}
@@ -0,0 +1,192 @@
+package com.delivery.routing.service;
+
+import com.delivery.common.domain.Location;
+import com.delivery.routing.algorithm.SpeedProfileStore;
+import com.delivery.routing.domain.DeliveryBatch;
+import com.delivery.routing.domain.ExecutiveLocation;
+import com.delivery.routing.domain.OptimizedRoute;
+import com.delivery.routing.domain.OrderInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class RouteCache {
+    private static final String ROUTES_CACHE = "routes";
+    private static final String LOOKUP_METRIC = "route.cache.lookups";
+    private static final long SEED_HIGH = 0x243F6A8885A308D3L;
+    private static final long SEED_LOW = 0x13198A2E03707344L;
+    private static final long MULTIPLIER_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long MULTIPLIER_LOW = 0xC2B2AE3D27D4EB4FL;
+    private static final long NULL_MARKER = 0x5851F42D4C957F2DL;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Comparator<OrderInfo> ORDER_ID_ORDER =
+            Comparator.comparing(OrderInfo::getOrderId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final boolean enabled;
+    private final double scale;
+    private final Cache<String, OptimizedRoute> nearCache;
+    private final org.springframework.cache.Cache remoteCache;
+    private final SpeedProfileStore speedProfileStore;
+    private final Counter nearHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    public RouteCache(
+            @Value("${routing.route-cache.enabled:true}") boolean enabled,
+            @Value("${routing.route-cache.near-cache-size:10000}") long nearCacheSize,
+            @Value("${routing.route-cache.near-cache-ttl-seconds:60}") long nearCacheTtlSeconds,
+            @Value("${routing.route-cache.position-precision:4}") int positionPrecision,
+            CacheManager cacheManager,
+            SpeedProfileStore speedProfileStore,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.scale = Math.pow(10, positionPrecision);
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(nearCacheTtlSeconds))
+                .recordStats()
+                .build();
+        this.remoteCache = cacheManager.getCache(ROUTES_CACHE);
+        this.speedProfileStore = speedProfileStore;
+
+        this.nearHits = meterRegistry.counter(LOOKUP_METRIC, "result", "near_hit");
+        this.remoteHits = meterRegistry.counter(LOOKUP_METRIC, "result", "remote_hit");
+        this.misses = meterRegistry.counter(LOOKUP_METRIC, "result", "miss");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "routes.near");
+        Gauge.builder("route.cache.hit.ratio", this, RouteCache::hitRatio).register(meterRegistry);
+    }
+
+    public String fingerprint(DeliveryBatch batch, ExecutiveLocation executiveLocation) {
+        OrderInfo[] orders = batch.getOrders().toArray(OrderInfo[]::new);
+        Arrays.sort(orders, ORDER_ID_ORDER);
+
+        Location position = executiveLocation.getLocation();
+        long[] hash = {SEED_HIGH, SEED_LOW};
+        mix(hash, batch.getId());
+        mix(hash, Math.round(position.latitude() * scale));
+        mix(hash, Math.round(position.longitude() * scale));
+        mix(hash, speedProfileStore.currentBucket());
+
+        for (OrderInfo order : orders) {
+            mix(hash, order.getOrderId());
+            mix(hash, order.getStatus() != null ? order.getStatus().ordinal() : -1);
+            mix(hash, order.getPreparationTimeMinutes());
+        }
+
+        return HEX.toHexDigits(hash[0]) + HEX.toHexDigits(hash[1]);
+    }
+
+    public Optional<OptimizedRoute> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        OptimizedRoute route = nearCache.getIfPresent(key);
+        if (route != null) {
+            nearHits.increment();
+            return Optional.of(copyOf(route));
+        }
+
+        route = getRemote(key);
+        if (route != null) {
+            remoteHits.increment();
+            nearCache.put(key, route);
+            return Optional.of(copyOf(route));
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, OptimizedRoute route) {
+        if (!enabled) {
+            return;
+        }
+
+        OptimizedRoute snapshot = copyOf(route);
+        nearCache.put(key, snapshot);
+        try {
+            if (remoteCache != null) {
+                remoteCache.put(key, snapshot);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write route {} to remote cache: {}", key, e.getMessage());
+        }
+    }
+
+    public void evictAll() {
+        nearCache.invalidateAll();
+        try {
+            if (remoteCache != null) {
+                remoteCache.clear();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear remote route cache: {}", e.getMessage());
+        }
+    }
+
+    private OptimizedRoute getRemote(String key) {
+        if (remoteCache == null) {
+            return null;
+        }
+        try {
+            return remoteCache.get(key, OptimizedRoute.class);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read route {} from remote cache: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private OptimizedRoute copyOf(OptimizedRoute route) {
+        return OptimizedRoute.builder()
+                .routeId(route.getRouteId())
+                .batchId(route.getBatchId())
+                .steps(route.getSteps().stream().map(step -> step.toBuilder().build()).toList())
+                .totalDistanceKm(route.getTotalDistanceKm())
+                .estimatedTimeMinutes(route.getEstimatedTimeMinutes())
+                .metadata(route.getMetadata())
+                .build();
+    }
+
+    private double hitRatio() {
+        double hits = nearHits.count() + remoteHits.count();
+        double lookups = hits + misses.count();
+        return lookups == 0 ? 0 : hits / lookups;
+    }
+
+    private void mix(long[] hash, UUID id) {
+        if (id == null) {
+            mix(hash, NULL_MARKER);
+            return;
+        }
+        mix(hash, id.getMostSignificantBits());
+        mix(hash, id.getLeastSignificantBits());
+    }
+
+    private void mix(long[] hash, long value) {
+        hash[0] = avalanche((hash[0] ^ value) * MULTIPLIER_HIGH);
+        hash[1] = avalanche((hash[1] ^ value) * MULTIPLIER_LOW);
+    }
+
+    private long avalanche(long value) {
+        return value ^ (value >>> 31);
+    }
+}
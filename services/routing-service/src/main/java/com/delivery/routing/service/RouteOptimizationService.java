@@ -1,10 +1,12 @@
 package com.delivery.routing.service;
 
 import com.delivery.routing.algorithm.DistanceMatrixBuilder;
+import com.delivery.routing.algorithm.PrecedenceDpSolver;
 import com.delivery.routing.algorithm.TSPOptimizer;
 import com.delivery.routing.domain.*;
 import com.delivery.routing.exception.InvalidBatchException;
 import com.delivery.routing.exception.RouteOptimizationException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,37 +15,170 @@ import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class RouteOptimizationService {
     private final TSPOptimizer tspOptimizer;
+    private final PrecedenceDpSolver precedenceDpSolver;
     private final DistanceMatrixBuilder distanceMatrixBuilder;
     private final ExecutorService routingExecutorService;
+    private final RouteCache routeCache;
+    private final PlannedMatrixCache plannedMatrixCache;
 
-    @Value("${routing.optimization.exact-algorithm-threshold:10}")
+    @Value("${routing.optimization.exact-algorithm-threshold:12}")
     private int exactAlgorithmThreshold;
 
-    @Value("${routing.optimization.max-batch-size:10}")
+    @Value("${routing.optimization.time-windows-enabled:false}")
+    private boolean timeWindowsEnabled;
+
+    @Value("${routing.optimization.max-batch-size:14}")
     private int maxBatchSize;
 
+    @Value("${routing.optimization.portfolio-enabled:true}")
+    private boolean portfolioEnabled;
+
+    @Value("${routing.optimization.portfolio-budget-ms:250}")
+    private long portfolioBudgetMs;
+
     private static final int PICKUP_GRACE_PERIOD_MINUTES = 10;
     private static final int DELIVERY_SLA_MINUTES = 40;
     private static final int PICKUP_SERVICE_TIME_MINUTES = 2;
     private static final int DELIVERY_SERVICE_TIME_MINUTES = 3;
 
+    @PostConstruct
+    void validateThresholds() {
+        int maxExactOrders = precedenceDpSolver.maxOrders();
+        if (exactAlgorithmThreshold < 0 || exactAlgorithmThreshold > maxExactOrders) {
+            throw new IllegalStateException("routing.optimization.exact-algorithm-threshold must be in [0, "
+                    + maxExactOrders + "] so DP tables fit routing.optimization.dp-table-max-retained-cells, got: "
+                    + exactAlgorithmThreshold);
+        }
+        if (maxBatchSize < 1 || maxBatchSize < exactAlgorithmThreshold) {
+            throw new IllegalStateException("routing.optimization.max-batch-size must be at least "
+                    + Math.max(1, exactAlgorithmThreshold) + ", got: " + maxBatchSize);
+        }
+    }
+
     public OptimizedRoute findOptimalRoute(DeliveryBatch batch, ExecutiveLocation executiveLocation) {
+        return findOptimalRoute(batch, executiveLocation, null);
+    }
+
+    public OptimizedRoute findOptimalRoute(
+            DeliveryBatch batch,
+            ExecutiveLocation executiveLocation,
+            Long maxOptimizationMs
+    ) {
+        return findOptimalRoute(batch, executiveLocation, maxOptimizationMs,
+                () -> CompletableFuture.supplyAsync(
+                        () -> distanceMatrixBuilder.build(batch, executiveLocation),
+                        routingExecutorService
+                ));
+    }
+
+    public OptimizedRoute findOptimalRoute(
+            DeliveryBatch batch,
+            ExecutiveLocation executiveLocation,
+            DistanceMatrix distanceMatrix,
+            Long maxOptimizationMs
+    ) {
+        return findOptimalRoute(batch, executiveLocation, maxOptimizationMs,
+                () -> CompletableFuture.completedFuture(distanceMatrix));
+    }
+
+    private OptimizedRoute findOptimalRoute(
+            DeliveryBatch batch,
+            ExecutiveLocation executiveLocation,
+            Long maxOptimizationMs,
+            Supplier<CompletableFuture<DistanceMatrix>> matrixSource
+    ) {
+        Long deadlineNanos = maxOptimizationMs != null
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxOptimizationMs)
+                : null;
+
         validateBatchAndLocation(batch, executiveLocation);
 
         log.info("Starting route optimization for batch: {}", batch.getId());
 
+        String cacheKey = routeCache.fingerprint(batch, executiveLocation);
+        Optional<OptimizedRoute> cached = routeCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Returning cached route for batch: {}", batch.getId());
+            return cached.get();
+        }
+
+        OptimizedRoute route = optimize(batch, matrixSource, deadlineNanos);
+        if (!route.getMetadata().isBudgetTruncated()) {
+            routeCache.put(cacheKey, route);
+        }
+        return route;
+    }
+
+    public OptimizedRoute reoptimizeRoute(
+            DeliveryBatch batch,
+            List<RouteStep> steps,
+            int visitedSteps,
+            RouteDelta delta
+    ) {
+        validateReoptimization(batch, steps, visitedSteps, delta);
+
+        log.info("Re-optimizing route for batch {} after {}", batch.getId(), delta.getType());
+
+        List<RouteStep> visited = steps.subList(0, visitedSteps);
+        List<RouteStep> remaining = steps.subList(visitedSteps, steps.size());
+        UUID removedOrderId = delta.getType() == RouteDelta.Type.REMOVE_ORDER ? delta.getOrderId() : null;
+
+        List<OrderInfo> liveOrders = remainingOrders(batch, remaining, removedOrderId);
+        ExecutiveLocation position = delta.getExecutiveLocation() != null
+                ? delta.getExecutiveLocation()
+                : ExecutiveLocation.builder()
+                        .executiveId(batch.getExecutiveId())
+                        .location(visited.get(visited.size() - 1).getLocation())
+                        .build();
+
+        DeliveryBatch remainingBatch = liveBatch(batch, liveOrders);
+        DistanceMatrix distanceMatrix = plannedMatrixCache.get(batch.getId())
+                .flatMap(planned -> distanceMatrixBuilder.rebase(planned, remainingBatch, position))
+                .orElseGet(() -> distanceMatrixBuilder.build(remainingBatch, position));
+        int[] plannedPath = plannedPath(remaining, liveOrders, removedOrderId);
+
+        Integer insertedOrder = null;
+        if (delta.getType() == RouteDelta.Type.ADD_ORDER) {
+            distanceMatrix = distanceMatrixBuilder.extend(distanceMatrix, delta.getOrder());
+            liveOrders.add(delta.getOrder());
+            insertedOrder = liveOrders.size() - 1;
+        }
+        plannedMatrixCache.put(batch.getId(), distanceMatrix);
+
+        DeliveryBatch liveBatch = liveBatch(batch, liveOrders);
+        double clock = departureAfter(visited.get(visited.size() - 1), calculateTimeWindows(batch));
         try {
-            CompletableFuture<DistanceMatrix> distanceMatrixFuture =
-                    CompletableFuture.supplyAsync(
-                            () -> distanceMatrixBuilder.build(batch, executiveLocation),
-                            routingExecutorService
-                    );
+            OptimizedRoute liveRoute = tspOptimizer.solveIncremental(
+                    distanceMatrix, shiftTimeWindows(calculateTimeWindows(liveBatch), clock), liveBatch,
+                    plannedPath, insertedOrder);
+            return appendToVisited(batch, visited, liveRoute, clock);
+        } catch (Exception e) {
+            log.error("Incremental re-optimization failed for batch: {}", batch.getId(), e);
+            throw new RouteOptimizationException("Failed to re-optimize route for batch: " + batch.getId(), e);
+        }
+    }
+
+    public void evictCachedRoutes() {
+        log.info("Evicting all cached routes");
+        routeCache.evictAll();
+    }
+
+    private OptimizedRoute optimize(
+            DeliveryBatch batch,
+            Supplier<CompletableFuture<DistanceMatrix>> matrixSource,
+            Long deadlineNanos
+    ) {
+        try {
+            CompletableFuture<DistanceMatrix> distanceMatrixFuture = matrixSource.get();
 
             CompletableFuture<Map<String, TimeWindow>> timeWindowsFuture =
                     CompletableFuture.supplyAsync(
@@ -55,7 +190,11 @@ public class RouteOptimizationService {
 
             DistanceMatrix distanceMatrix = distanceMatrixFuture.join();
             Map<String, TimeWindow> timeWindows = timeWindowsFuture.join();
+            plannedMatrixCache.put(batch.getId(), distanceMatrix);
 
+            if (deadlineNanos != null) {
+                return applyAnytimeAlgorithm(batch, distanceMatrix, timeWindows, deadlineNanos);
+            }
             return selectAndApplyOptimizationAlgorithm(batch, distanceMatrix, timeWindows);
         } catch (Exception e) {
             log.error("Route optimization failed for batch: {}", batch.getId(), e);
@@ -70,21 +209,153 @@ public class RouteOptimizationService {
     ) {
         int orderCount = batch.getOrders().size();
 
+        if (timeWindowsEnabled) {
+            return applyTimeWindowAlgorithm(batch, distanceMatrix, timeWindows, orderCount);
+        }
+
         if (orderCount <= exactAlgorithmThreshold) {
             log.info("Using exact DP algorithm for {} orders", orderCount);
             return tspOptimizer.solveExact(distanceMatrix, timeWindows, batch);
+        } else if (portfolioEnabled) {
+            log.info("Using portfolio heuristic for {} orders", orderCount);
+            long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(portfolioBudgetMs);
+            return tspOptimizer.solvePortfolio(distanceMatrix, timeWindows, batch, deadlineNanos);
         } else {
             log.info("Using Christofides heuristic for {} orders", orderCount);
             return tspOptimizer.solveHeuristic(distanceMatrix, timeWindows, batch);
         }
     }
 
+    private OptimizedRoute applyTimeWindowAlgorithm(
+            DeliveryBatch batch,
+            DistanceMatrix distanceMatrix,
+            Map<String, TimeWindow> timeWindows,
+            int orderCount
+    ) {
+        if (orderCount <= exactAlgorithmThreshold) {
+            log.info("Using time-window label-setting DP for {} orders", orderCount);
+            return tspOptimizer.solveExactWithTimeWindows(distanceMatrix, timeWindows, batch);
+        }
+        log.info("Using time-window insertion heuristic for {} orders", orderCount);
+        return tspOptimizer.solveHeuristicWithTimeWindows(distanceMatrix, timeWindows, batch);
+    }
+
+    private OptimizedRoute applyAnytimeAlgorithm(
+            DeliveryBatch batch,
+            DistanceMatrix distanceMatrix,
+            Map<String, TimeWindow> timeWindows,
+            long deadlineNanos
+    ) {
+        if (timeWindowsEnabled) {
+            log.info("Using anytime time-window solver for {} orders", batch.getOrderCount());
+            return tspOptimizer.solveAnytimeWithTimeWindows(distanceMatrix, timeWindows, batch, deadlineNanos);
+        }
+        log.info("Using anytime solver for {} orders", batch.getOrderCount());
+        return tspOptimizer.solveAnytime(distanceMatrix, timeWindows, batch, deadlineNanos);
+    }
+
+    private List<OrderInfo> remainingOrders(DeliveryBatch batch, List<RouteStep> remaining, UUID removedOrderId) {
+        Map<UUID, OrderInfo> ordersById = new HashMap<>();
+        batch.getOrders().forEach(order -> ordersById.put(order.getOrderId(), order));
+
+        Set<UUID> seen = new HashSet<>();
+        List<OrderInfo> liveOrders = new ArrayList<>();
+        for (RouteStep step : remaining) {
+            UUID orderId = step.getOrderId();
+            if (orderId == null) {
+                throw new InvalidBatchException("Route step " + step.getSequence() + " has no order id");
+            }
+            if (orderId.equals(removedOrderId) || !seen.add(orderId)) {
+                continue;
+            }
+            OrderInfo order = ordersById.get(orderId);
+            if (order == null) {
+                throw new InvalidBatchException("Route step " + step.getSequence() + " references unknown order: " + orderId);
+            }
+            liveOrders.add(order);
+        }
+        return liveOrders;
+    }
+
+    private int[] plannedPath(List<RouteStep> remaining, List<OrderInfo> liveOrders, UUID removedOrderId) {
+        Map<UUID, Integer> indexByOrder = new HashMap<>();
+        for (int i = 0; i < liveOrders.size(); i++) {
+            indexByOrder.put(liveOrders.get(i).getOrderId(), i);
+        }
+
+        return IntStream.concat(
+                IntStream.of(0),
+                remaining.stream()
+                        .filter(step -> !step.getOrderId().equals(removedOrderId))
+                        .mapToInt(step -> {
+                            int pickup = 2 * indexByOrder.get(step.getOrderId()) + 1;
+                            return step.getType() == RouteStep.LocationType.CUSTOMER_DELIVERY ? pickup + 1 : pickup;
+                        })
+        ).toArray();
+    }
+
+    private DeliveryBatch liveBatch(DeliveryBatch batch, List<OrderInfo> liveOrders) {
+        return DeliveryBatch.builder()
+                .id(batch.getId())
+                .executiveId(batch.getExecutiveId())
+                .orders(liveOrders)
+                .status(batch.getStatus())
+                .createdAt(batch.getCreatedAt())
+                .build();
+    }
+
+    private double departureAfter(RouteStep lastVisited, Map<String, TimeWindow> timeWindows) {
+        TimeWindow window = null;
+        if (lastVisited.getType() == RouteStep.LocationType.RESTAURANT_PICKUP) {
+            window = timeWindows.get(TimeWindow.pickupKey(lastVisited.getOrderId()));
+        } else if (lastVisited.getType() == RouteStep.LocationType.CUSTOMER_DELIVERY) {
+            window = timeWindows.get(TimeWindow.deliveryKey(lastVisited.getOrderId()));
+        }
+        return lastVisited.getEstimatedArrivalTimeMinutes() + (window != null ? window.getServiceTime() : 0);
+    }
+
+    private Map<String, TimeWindow> shiftTimeWindows(Map<String, TimeWindow> timeWindows, double clock) {
+        Map<String, TimeWindow> shifted = new HashMap<>();
+        timeWindows.forEach((key, window) -> shifted.put(key, TimeWindow.builder()
+                .earliest((int) Math.max(0, Math.ceil(window.getEarliest() - clock)))
+                .latest((int) Math.floor(window.getLatest() - clock))
+                .serviceTime(window.getServiceTime())
+                .build()));
+        return shifted;
+    }
+
+    private OptimizedRoute appendToVisited(
+            DeliveryBatch batch,
+            List<RouteStep> visited,
+            OptimizedRoute liveRoute,
+            double clock
+    ) {
+        List<RouteStep> steps = new ArrayList<>(visited);
+
+        List<RouteStep> liveSteps = liveRoute.getSteps();
+        for (RouteStep step : liveSteps.subList(1, liveSteps.size())) {
+            step.setSequence(steps.size() + 1);
+            step.setEstimatedArrivalTimeMinutes(clock + step.getEstimatedArrivalTimeMinutes());
+            steps.add(step);
+        }
+
+        return OptimizedRoute.builder()
+                .routeId(UUID.randomUUID())
+                .batchId(batch.getId())
+                .steps(steps)
+                .totalDistanceKm(visited.stream().mapToDouble(RouteStep::getDistanceFromPreviousKm).sum()
+                        + liveRoute.getTotalDistanceKm())
+                .estimatedTimeMinutes(clock + liveRoute.getEstimatedTimeMinutes())
+                .metadata(liveRoute.getMetadata())
+                .build();
+    }
+
     private Map<String, TimeWindow> calculateTimeWindows(DeliveryBatch batch) {
         Map<String, TimeWindow> timeWindows = new HashMap<>();
 
         batch.getOrders().forEach(order -> {
-            String restaurantKey = "R_" + order.getOrderId();
-            String deliveryKey = "C_" + order.getOrderId();
+            String restaurantKey = TimeWindow.pickupKey(order.getOrderId());
+            String deliveryKey = TimeWindow.deliveryKey(order.getOrderId());
 
             timeWindows.put(restaurantKey, TimeWindow.builder()
                     .earliest(0)
@@ -102,6 +373,60 @@ public class RouteOptimizationService {
         return timeWindows;
     }
 
+    private void validateReoptimization(
+            DeliveryBatch batch,
+            List<RouteStep> steps,
+            int visitedSteps,
+            RouteDelta delta
+    ) {
+        if (batch == null || batch.getOrders() == null) {
+            throw new InvalidBatchException("Batch cannot be null");
+        }
+        if (steps == null || steps.isEmpty() || steps.get(0).getType() != RouteStep.LocationType.EXECUTIVE_START) {
+            throw new InvalidBatchException("Route must start with the executive location");
+        }
+        if (visitedSteps < 1 || visitedSteps > steps.size()) {
+            throw new InvalidBatchException("Visited step count must be between 1 and " + steps.size());
+        }
+        if (delta == null || delta.getType() == null) {
+            throw new InvalidBatchException("Route delta type is required");
+        }
+
+        switch (delta.getType()) {
+            case ADD_ORDER -> validateAddedOrder(batch, delta.getOrder());
+            case REMOVE_ORDER -> {
+                if (delta.getOrderId() == null) {
+                    throw new InvalidBatchException("Removed order id is required");
+                }
+                boolean pending = steps.subList(visitedSteps, steps.size()).stream()
+                        .anyMatch(step -> delta.getOrderId().equals(step.getOrderId()));
+                if (!pending) {
+                    throw new InvalidBatchException("Order has no remaining stops on this route: " + delta.getOrderId());
+                }
+            }
+            case POSITION_CHANGED -> {
+                if (delta.getExecutiveLocation() == null || delta.getExecutiveLocation().getLocation() == null) {
+                    throw new InvalidBatchException("Executive location coordinates cannot be null");
+                }
+            }
+        }
+    }
+
+    private void validateAddedOrder(DeliveryBatch batch, OrderInfo order) {
+        if (order == null || order.getOrderId() == null) {
+            throw new InvalidBatchException("Added order is required");
+        }
+        if (order.getRestaurantLocation() == null || order.getDeliveryLocation() == null) {
+            throw new InvalidBatchException("Added order locations cannot be null");
+        }
+        if (batch.getOrders().stream().anyMatch(existing -> order.getOrderId().equals(existing.getOrderId()))) {
+            throw new InvalidBatchException("Order is already part of the batch: " + order.getOrderId());
+        }
+        if (batch.getOrders().size() >= maxBatchSize) {
+            throw new InvalidBatchException("Batch size exceeds maximum allowed: " + maxBatchSize);
+        }
+    }
+
     private void validateBatchAndLocation(DeliveryBatch batch, ExecutiveLocation executiveLocation) {
         if (batch == null) {
             throw new InvalidBatchException("Batch cannot be null");
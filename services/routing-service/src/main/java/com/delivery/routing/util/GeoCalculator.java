@@ -1,8 +1,11 @@
 package com.delivery.routing.util;
 
 import com.delivery.common.domain.Location;
+import com.delivery.common.util.GeoPoints;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class GeoCalculator {
 
@@ -10,6 +13,14 @@ public class GeoCalculator {
         return com.delivery.common.util.GeoCalculator.haversineDistance(from, to);
     }
 
+    public double[] haversineLowerTriangle(List<Location> locations) {
+        return com.delivery.common.util.GeoCalculator.haversineLowerTriangle(GeoPoints.of(locations));
+    }
+
+    public void haversineRow(GeoPoints points, int from, double[] out) {
+        com.delivery.common.util.GeoCalculator.haversineRow(points, from, from, out, 0);
+    }
+
     public double calculateTravelTime(Location from, Location to, double speedKmHr) {
         return com.delivery.common.util.GeoCalculator.calculateTravelTime(from, to, speedKmHr);
     }
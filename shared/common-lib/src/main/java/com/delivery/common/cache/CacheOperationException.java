@@ -0,0 +1,7 @@
+package com.delivery.common.cache;
+
+public class CacheOperationException extends RuntimeException {
+    public CacheOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.delivery.common.cache;
+
+public interface CacheSerializer {
+
+    byte[] serialize(Object value);
+
+    <T> T deserialize(byte[] bytes, Class<T> type);
+}
@@ -0,0 +1,60 @@
+package com.delivery.common.cache;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+@AutoConfiguration(after = RedisAutoConfiguration.class)
+@EnableConfigurationProperties(RedisProperties.class)
+public class CacheServiceAutoConfiguration {
+    private static final String CACHE_TYPE = "delivery.cache.type";
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheSerializer cacheSerializer() {
+        return new SmileCacheSerializer();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis")
+    public RedisClient cacheRedisClient(RedisProperties properties) {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(properties.getHost())
+                .withPort(properties.getPort())
+                .withDatabase(properties.getDatabase())
+                .withTimeout(properties.getTimeout() != null ? properties.getTimeout() : DEFAULT_TIMEOUT);
+        if (properties.getPassword() != null) {
+            uri.withPassword(properties.getPassword().toCharArray());
+        }
+        return RedisClient.create(uri.build());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis")
+    @ConditionalOnMissingBean(ICacheService.class)
+    public RedisCacheService redisCacheService(RedisClient cacheRedisClient, CacheSerializer cacheSerializer) {
+        return new RedisCacheService(
+                cacheRedisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE)),
+                cacheSerializer
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "memory", matchIfMissing = true)
+    @ConditionalOnMissingBean(ICacheService.class)
+    public InMemoryCacheService inMemoryCacheService(CacheSerializer cacheSerializer) {
+        return new InMemoryCacheService(cacheSerializer);
+    }
+}
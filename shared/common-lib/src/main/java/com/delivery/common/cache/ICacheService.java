@@ -10,6 +10,8 @@ public interface ICacheService {
 
     <T> void set(String key, T value, long ttlSeconds);
 
+    <T> void multiSet(Map<String, T> entries, long ttlSeconds);
+
     void delete(String key);
 
     <T> boolean setIfAbsent(String key, T value, long ttlSeconds);
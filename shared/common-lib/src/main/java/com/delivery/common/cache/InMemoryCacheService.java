@@ -0,0 +1,115 @@
+package com.delivery.common.cache;
+
+import com.delivery.common.domain.Location;
+import com.delivery.common.spatial.GridSpatialIndex;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InMemoryCacheService implements ICacheService {
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GridSpatialIndex> geoSets = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final CacheSerializer serializer;
+
+    public InMemoryCacheService(CacheSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        Entry entry = liveEntry(key);
+        return entry == null ? Optional.empty() : Optional.of(serializer.deserialize(entry.value(), type));
+    }
+
+    @Override
+    public <T> void set(String key, T value, long ttlSeconds) {
+        entries.put(key, newEntry(value, ttlSeconds));
+        purgeExpiredPeriodically();
+    }
+
+    @Override
+    public <T> void multiSet(Map<String, T> values, long ttlSeconds) {
+        values.forEach((key, value) -> entries.put(key, newEntry(value, ttlSeconds)));
+        purgeExpiredPeriodically();
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+        geoSets.remove(key);
+    }
+
+    @Override
+    public <T> boolean setIfAbsent(String key, T value, long ttlSeconds) {
+        Entry candidate = newEntry(value, ttlSeconds);
+        long now = System.nanoTime();
+        Entry winner = entries.compute(key,
+                (k, existing) -> existing == null || existing.isExpired(now) ? candidate : existing);
+        return winner == candidate;
+    }
+
+    @Override
+    public <T> Map<String, T> multiGet(List<String> keys, Class<T> type) {
+        Map<String, T> values = new HashMap<>();
+        for (String key : keys) {
+            Entry entry = liveEntry(key);
+            if (entry != null) {
+                values.put(key, serializer.deserialize(entry.value(), type));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void geoAdd(String key, double longitude, double latitude, String member) {
+        geoSets.computeIfAbsent(key, k -> new GridSpatialIndex())
+                .update(member, Location.of(latitude, longitude));
+    }
+
+    @Override
+    public List<String> geoRadius(String key, double longitude, double latitude, double radiusKm) {
+        GridSpatialIndex index = geoSets.get(key);
+        if (index == null) {
+            return List.of();
+        }
+        return index.withinRadius(Location.of(latitude, longitude), radiusKm);
+    }
+
+    private Entry liveEntry(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private Entry newEntry(Object value, long ttlSeconds) {
+        long expiresAt = ttlSeconds > 0
+                ? System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)
+                : NO_EXPIRY;
+        return new Entry(serializer.serialize(value), expiresAt);
+    }
+
+    private void purgeExpiredPeriodically() {
+        if (writes.incrementAndGet() % PURGE_INTERVAL == 0) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+    }
+
+    private record Entry(byte[] value, long expiresAtNanos) {
+        private boolean isExpired(long now) {
+            return expiresAtNanos != NO_EXPIRY && now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.delivery.common.cache;
+
+import io.lettuce.core.GeoArgs;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class RedisCacheService implements ICacheService, AutoCloseable {
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final CacheSerializer serializer;
+    private final Duration timeout;
+
+    public RedisCacheService(StatefulRedisConnection<String, byte[]> connection, CacheSerializer serializer) {
+        this.connection = connection;
+        this.serializer = serializer;
+        this.timeout = connection.getTimeout();
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        byte[] bytes = sync().get(key);
+        return Optional.ofNullable(bytes).map(value -> serializer.deserialize(value, type));
+    }
+
+    @Override
+    public <T> void set(String key, T value, long ttlSeconds) {
+        sync().set(key, serializer.serialize(value), expiry(ttlSeconds));
+    }
+
+    @Override
+    public <T> void multiSet(Map<String, T> entries, long ttlSeconds) {
+        RedisAsyncCommands<String, byte[]> async = connection.async();
+        SetArgs args = expiry(ttlSeconds);
+
+        List<RedisFuture<String>> futures = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> futures.add(async.set(key, serializer.serialize(value), args)));
+        await(futures);
+    }
+
+    @Override
+    public void delete(String key) {
+        sync().del(key);
+    }
+
+    @Override
+    public <T> boolean setIfAbsent(String key, T value, long ttlSeconds) {
+        String reply = sync().set(key, serializer.serialize(value), expiry(ttlSeconds).nx());
+        return "OK".equals(reply);
+    }
+
+    @Override
+    public <T> Map<String, T> multiGet(List<String> keys, Class<T> type) {
+        RedisAsyncCommands<String, byte[]> async = connection.async();
+
+        List<RedisFuture<byte[]>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(async.get(key));
+        }
+        await(futures);
+
+        Map<String, T> values = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] bytes = futures.get(i).resultNow();
+            if (bytes != null) {
+                values.put(keys.get(i), serializer.deserialize(bytes, type));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void geoAdd(String key, double longitude, double latitude, String member) {
+        sync().geoadd(key, longitude, latitude, member.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public List<String> geoRadius(String key, double longitude, double latitude, double radiusKm) {
+        return sync().georadius(key, longitude, latitude, radiusKm, GeoArgs.Unit.km).stream()
+                .map(member -> new String(member, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+
+    private RedisCommands<String, byte[]> sync() {
+        return connection.sync();
+    }
+
+    private SetArgs expiry(long ttlSeconds) {
+        return ttlSeconds > 0 ? SetArgs.Builder.ex(ttlSeconds) : new SetArgs();
+    }
+
+    private void await(List<? extends RedisFuture<?>> futures) {
+        if (futures.isEmpty()) {
+            return;
+        }
+        if (!LettuceFutures.awaitAll(timeout, futures.toArray(RedisFuture[]::new))) {
+            throw new CacheOperationException("Redis pipeline did not complete within " + timeout);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.delivery.common.domain;
 
-public record Location(double latitude, double longitude) {
+import java.io.Serializable;
+
+public record Location(double latitude, double longitude) implements Serializable {
     private static final double MIN_LATITUDE = -90.0;
     private static final double MAX_LATITUDE = 90.0;
     private static final double MIN_LONGITUDE = -180.0;
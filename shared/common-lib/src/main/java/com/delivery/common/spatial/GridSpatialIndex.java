@@ -0,0 +1,339 @@
+package com.delivery.common.spatial;
+
+import com.delivery.common.domain.Location;
+import com.delivery.common.util.GeoCalculator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GridSpatialIndex {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double BOUNDARY_MARGIN_KM = 1e-6;
+    public static final double DEFAULT_CELL_SIZE_DEGREES = 0.01;
+
+    private final double cellSizeDegrees;
+    private final int longitudeCells;
+    private final int latitudeCells;
+    private final double wrapDeficitDegrees;
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Location>> cells = new ConcurrentHashMap<>();
+
+    public GridSpatialIndex() {
+        this(DEFAULT_CELL_SIZE_DEGREES);
+    }
+
+    public GridSpatialIndex(double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees, got: " + cellSizeDegrees);
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.longitudeCells = (int) Math.ceil(360 / cellSizeDegrees);
+        this.latitudeCells = (int) Math.ceil(180 / cellSizeDegrees) + 1;
+        this.wrapDeficitDegrees = longitudeCells * cellSizeDegrees - 360;
+    }
+
+    public void update(String member, Location location) {
+        long cell = cellOf(location);
+        positions.compute(member, (key, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), member);
+            }
+            addToCell(cell, member, location);
+            return new Position(location, cell);
+        });
+    }
+
+    public void remove(String member) {
+        positions.computeIfPresent(member, (key, previous) -> {
+            removeFromCell(previous.cell(), member);
+            return null;
+        });
+    }
+
+    public Optional<Location> locationOf(String member) {
+        return Optional.ofNullable(positions.get(member)).map(Position::location);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public List<String> withinRadius(Location center, double radiusKm) {
+        if (radiusKm < 0) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+
+        double radiusDegrees = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        int latitudeSpan = (int) Math.min(Math.ceil(radiusDegrees / cellSizeDegrees), latitudeCells);
+        int longitudeSpan = longitudeSpan(center, radiusDegrees);
+        int columnCount = (int) Math.min(2L * longitudeSpan + 1, longitudeCells);
+        int centerRow = row(center.latitude());
+        int firstColumn = column(center.longitude()) - longitudeSpan;
+
+        List<String> members = new ArrayList<>();
+        if ((2L * latitudeSpan + 1) * columnCount > cells.size()) {
+            for (long cell : cells.keySet()) {
+                collectWithinRadius(members, center, radiusKm, (int) (cell >>> 32), (int) cell);
+            }
+            return members;
+        }
+        for (int row = centerRow - latitudeSpan; row <= centerRow + latitudeSpan; row++) {
+            for (int column = firstColumn; column < firstColumn + columnCount; column++) {
+                collectWithinRadius(members, center, radiusKm, row, column);
+            }
+        }
+        return members;
+    }
+
+    public List<Neighbor> nearest(Location center, int k, double maxRadiusKm) {
+        if (k <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::distanceKm).reversed());
+        int centerRow = row(center.latitude());
+        int centerColumn = column(center.longitude());
+        int maxRing = (longitudeCells - 1) / 2;
+
+        for (int ring = 0; ; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                int step = row == centerRow - ring || row == centerRow + ring ? 1 : 2 * ring;
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += Math.max(1, step)) {
+                    offerMembers(best, center, row, column, k, maxRadiusKm);
+                }
+            }
+
+            double coveredKm = coveredKm(center, centerRow, ring);
+            if (best.size() == k && best.peek().distanceKm() <= coveredKm
+                    || coveredKm > maxRadiusKm
+                    || best.size() == positions.size()) {
+                break;
+            }
+            if (ring == maxRing || (2L * ring + 1) * (2L * ring + 1) >= cells.size()) {
+                offerOutsideRing(best, center, centerRow, centerColumn, ring, k, maxRadiusKm);
+                break;
+            }
+        }
+
+        List<Neighbor> neighbors = new ArrayList<>(best);
+        neighbors.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return neighbors;
+    }
+
+    private void offerOutsideRing(
+            PriorityQueue<Neighbor> best,
+            Location center,
+            int centerRow,
+            int centerColumn,
+            int ring,
+            int k,
+            double maxRadiusKm
+    ) {
+        for (long cell : cells.keySet()) {
+            int row = (int) (cell >>> 32);
+            int column = (int) cell;
+            int columnOffset = Math.floorMod(column - centerColumn, longitudeCells);
+            if (Math.abs(row - centerRow) > ring || Math.min(columnOffset, longitudeCells - columnOffset) > ring) {
+                offerMembers(best, center, row, column, k, maxRadiusKm);
+            }
+        }
+    }
+
+    private double coveredKm(Location center, int centerRow, int ring) {
+        double south = (centerRow - ring) * cellSizeDegrees - 90;
+        double north = (centerRow + ring + 1) * cellSizeDegrees - 90;
+        double latitudeGap = Math.min(
+                south <= -90 ? Double.POSITIVE_INFINITY : center.latitude() - south,
+                north >= 90 ? Double.POSITIVE_INFINITY : north - center.latitude());
+
+        double longitudeGap = Double.POSITIVE_INFINITY;
+        if (2L * ring + 1 < longitudeCells) {
+            double shifted = center.longitude() + 180;
+            double withinColumn = shifted - Math.floor(shifted / cellSizeDegrees) * cellSizeDegrees;
+            longitudeGap = Math.max(0, Math.min(withinColumn + ring * cellSizeDegrees,
+                    (ring + 1) * cellSizeDegrees - withinColumn) - wrapDeficitDegrees);
+        }
+
+        return Math.min(Math.toRadians(latitudeGap) * EARTH_RADIUS_KM, beyondMeridianKm(center, longitudeGap));
+    }
+
+    private double beyondMeridianKm(Location center, double longitudeGap) {
+        if (Double.isInfinite(longitudeGap)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double latitude = Math.toRadians(center.latitude());
+        if (longitudeGap >= 90) {
+            return (Math.PI / 2 - Math.abs(latitude)) * EARTH_RADIUS_KM;
+        }
+        return Math.asin(Math.cos(latitude) * Math.sin(Math.toRadians(longitudeGap))) * EARTH_RADIUS_KM;
+    }
+
+    private void collectWithinRadius(List<String> members, Location center, double radiusKm, int row, int column) {
+        Map<String, Location> cell = membersOf(row, column);
+        if (cell.isEmpty() || minDistanceKm(center, row, column) > radiusKm + BOUNDARY_MARGIN_KM) {
+            return;
+        }
+
+        if (maxDistanceKm(center, row, column) < radiusKm - BOUNDARY_MARGIN_KM) {
+            members.addAll(cell.keySet());
+            return;
+        }
+        cell.forEach((member, location) -> {
+            if (GeoCalculator.isWithinRadius(center, location, radiusKm)) {
+                members.add(member);
+            }
+        });
+    }
+
+    private void offerMembers(PriorityQueue<Neighbor> best, Location center, int row, int column, int k, double maxRadiusKm) {
+        Map<String, Location> cell = membersOf(row, column);
+        if (cell.isEmpty()) {
+            return;
+        }
+
+        double bound = best.size() < k ? maxRadiusKm : Math.min(maxRadiusKm, best.peek().distanceKm());
+        if (minDistanceKm(center, row, column) > bound + BOUNDARY_MARGIN_KM) {
+            return;
+        }
+
+        cell.forEach((member, location) -> {
+            double distance = GeoCalculator.haversineDistance(center, location);
+            if (distance > maxRadiusKm) {
+                return;
+            }
+            if (best.size() < k) {
+                best.add(new Neighbor(member, location, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbor(member, location, distance));
+            }
+        });
+    }
+
+    private double minDistanceKm(Location center, int row, int column) {
+        double south = Math.max(-90, row * cellSizeDegrees - 90);
+        double north = Math.min(90, row * cellSizeDegrees - 90 + cellSizeDegrees);
+        double west = wrapColumn(column) * cellSizeDegrees - 180;
+        double width = Math.min(cellSizeDegrees, 180 - west);
+
+        double offset = longitudeOffset(center.longitude(), west);
+        if (offset >= 0 && offset <= width) {
+            double latitude = clamp(center.latitude(), south, north);
+            return GeoCalculator.haversineDistance(center, Location.of(latitude, center.longitude()));
+        }
+        double east = west + width;
+        boolean westNearer = Math.abs(offset) <= Math.abs(longitudeOffset(center.longitude(), east));
+        return meridianDistanceKm(center, westNearer ? west : east, south, north);
+    }
+
+    private double meridianDistanceKm(Location center, double longitude, double south, double north) {
+        double edgeLongitude = normalizeLongitude(longitude);
+        double delta = Math.toRadians(center.longitude() - edgeLongitude);
+        double cosDelta = Math.cos(delta);
+        if (cosDelta > 0) {
+            double latitude = Math.toRadians(center.latitude());
+            double foot = Math.toDegrees(Math.atan2(Math.sin(latitude), Math.cos(latitude) * cosDelta));
+            if (foot >= south && foot <= north) {
+                return Math.asin(Math.min(1, Math.cos(latitude) * Math.abs(Math.sin(delta)))) * EARTH_RADIUS_KM;
+            }
+            return GeoCalculator.haversineDistance(center, Location.of(clamp(foot, south, north), edgeLongitude));
+        }
+        return Math.min(
+                GeoCalculator.haversineDistance(center, Location.of(south, edgeLongitude)),
+                GeoCalculator.haversineDistance(center, Location.of(north, edgeLongitude)));
+    }
+
+    private double maxDistanceKm(Location center, int row, int column) {
+        double south = Math.max(-90, row * cellSizeDegrees - 90);
+        double north = Math.min(90, row * cellSizeDegrees - 90 + cellSizeDegrees);
+        double west = wrapColumn(column) * cellSizeDegrees - 180;
+        double width = Math.min(cellSizeDegrees, 180 - west);
+        double equatorward = south <= 0 && north >= 0 ? 0 : Math.min(Math.abs(south), Math.abs(north));
+
+        Location middle = Location.of((south + north) / 2, west + width / 2);
+        double halfExtentKm = Math.toRadians((north - south) / 2
+                + width / 2 * Math.cos(Math.toRadians(equatorward))) * EARTH_RADIUS_KM;
+        return GeoCalculator.haversineDistance(center, middle) + halfExtentKm;
+    }
+
+    private double longitudeOffset(double longitude, double west) {
+        double offset = (longitude - west) % 360;
+        if (offset < -180) {
+            offset += 360;
+        } else if (offset > 180) {
+            offset -= 360;
+        }
+        return offset;
+    }
+
+    private double normalizeLongitude(double longitude) {
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+
+    private double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private Map<String, Location> membersOf(int row, int column) {
+        if (row < 0 || row * cellSizeDegrees > 180) {
+            return Map.of();
+        }
+        Map<String, Location> members = cells.get(key(row, wrapColumn(column)));
+        return members != null ? members : Map.of();
+    }
+
+    private int wrapColumn(int column) {
+        return Math.floorMod(column, longitudeCells);
+    }
+
+    private void addToCell(long cell, String member, Location location) {
+        cells.compute(cell, (key, members) -> {
+            Map<String, Location> updated = members != null ? members : new ConcurrentHashMap<>();
+            updated.put(member, location);
+            return updated;
+        });
+    }
+
+    private void removeFromCell(long cell, String member) {
+        cells.computeIfPresent(cell, (key, members) -> {
+            members.remove(member);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int longitudeSpan(Location center, double radiusDegrees) {
+        if (radiusDegrees >= 90 - Math.abs(center.latitude())) {
+            return longitudeCells / 2;
+        }
+        double reach = Math.toDegrees(Math.asin(
+                Math.sin(Math.toRadians(radiusDegrees)) / Math.cos(Math.toRadians(center.latitude()))));
+        return (int) Math.min(Math.ceil((reach + wrapDeficitDegrees) / cellSizeDegrees), longitudeCells / 2);
+    }
+
+    private long cellOf(Location location) {
+        return key(row(location.latitude()), column(location.longitude()));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDegrees);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), longitudeCells);
+    }
+
+    private long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private record Position(Location location, long cell) {
+    }
+
+    public record Neighbor(String member, Location location, double distanceKm) {
+    }
+}
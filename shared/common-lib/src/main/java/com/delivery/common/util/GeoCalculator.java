@@ -6,6 +6,8 @@ public final class GeoCalculator {
     private static final double EARTH_RADIUS_KM = 6371.0;
     private static final double DEFAULT_SPEED_KM_HR = 20.0;
     private static final int MINUTES_PER_HOUR = 60;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final HaversineKernel KERNEL = selectKernel();
 
     private GeoCalculator() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -26,6 +28,22 @@ public final class GeoCalculator {
         return EARTH_RADIUS_KM * c;
     }
 
+    public static void haversineRow(GeoPoints points, int from, int count, double[] out, int offset) {
+        if (from < 0 || from >= points.size() || count < 0 || count > points.size()) {
+            throw new IllegalArgumentException("Row " + from + " with " + count + " targets is out of range");
+        }
+        KERNEL.row(points, from, count, out, offset, EARTH_RADIUS_KM);
+    }
+
+    public static double[] haversineLowerTriangle(GeoPoints points) {
+        int n = points.size();
+        double[] distances = new double[n * (n - 1) / 2];
+        for (int row = 1; row < n; row++) {
+            KERNEL.row(points, row, row, distances, row * (row - 1) / 2, EARTH_RADIUS_KM);
+        }
+        return distances;
+    }
+
     public static double calculateTravelTime(Location from, Location to, double speedKmHr) {
         if (speedKmHr <= 0) {
             throw new IllegalArgumentException("Speed must be positive");
@@ -57,6 +75,12 @@ public final class GeoCalculator {
                 Math.cos(lat1Rad) * Math.cos(lat2Rad) * sinDeltaLon * sinDeltaLon;
     }
 
+    private static HaversineKernel selectKernel() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                ? new VectorHaversineKernel()
+                : new ScalarHaversineKernel();
+    }
+
     private static void validateLocation(Location location) {
         if (location == null) {
             throw new IllegalArgumentException("Location cannot be null");
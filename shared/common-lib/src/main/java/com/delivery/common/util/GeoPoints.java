@@ -0,0 +1,80 @@
+package com.delivery.common.util;
+
+import com.delivery.common.domain.Location;
+
+import java.util.List;
+
+public final class GeoPoints {
+    private final double[] sinHalfLatitude;
+    private final double[] cosHalfLatitude;
+    private final double[] sinHalfLongitude;
+    private final double[] cosHalfLongitude;
+    private final double[] cosLatitude;
+
+    private GeoPoints(int size) {
+        this.sinHalfLatitude = new double[size];
+        this.cosHalfLatitude = new double[size];
+        this.sinHalfLongitude = new double[size];
+        this.cosHalfLongitude = new double[size];
+        this.cosLatitude = new double[size];
+    }
+
+    public static GeoPoints of(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+        }
+
+        GeoPoints points = new GeoPoints(latitudes.length);
+        for (int i = 0; i < latitudes.length; i++) {
+            points.set(i, latitudes[i], longitudes[i]);
+        }
+        return points;
+    }
+
+    public static GeoPoints of(List<Location> locations) {
+        GeoPoints points = new GeoPoints(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            Location location = locations.get(i);
+            if (location == null) {
+                throw new IllegalArgumentException("Location cannot be null");
+            }
+            points.set(i, location.latitude(), location.longitude());
+        }
+        return points;
+    }
+
+    private void set(int index, double latitude, double longitude) {
+        double halfLatitude = Math.toRadians(latitude) / 2;
+        double halfLongitude = Math.toRadians(longitude) / 2;
+
+        sinHalfLatitude[index] = Math.sin(halfLatitude);
+        cosHalfLatitude[index] = Math.cos(halfLatitude);
+        sinHalfLongitude[index] = Math.sin(halfLongitude);
+        cosHalfLongitude[index] = Math.cos(halfLongitude);
+        cosLatitude[index] = Math.cos(2 * halfLatitude);
+    }
+
+    public int size() {
+        return cosLatitude.length;
+    }
+
+    double[] sinHalfLatitude() {
+        return sinHalfLatitude;
+    }
+
+    double[] cosHalfLatitude() {
+        return cosHalfLatitude;
+    }
+
+    double[] sinHalfLongitude() {
+        return sinHalfLongitude;
+    }
+
+    double[] cosHalfLongitude() {
+        return cosHalfLongitude;
+    }
+
+    double[] cosLatitude() {
+        return cosLatitude;
+    }
+}
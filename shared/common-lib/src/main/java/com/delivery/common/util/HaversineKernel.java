@@ -0,0 +1,6 @@
+package com.delivery.common.util;
+
+interface HaversineKernel {
+
+    void row(GeoPoints points, int from, int count, double[] out, int offset, double radiusKm);
+}
@@ -0,0 +1,23 @@
+package com.delivery.common.util;
+
+final class ScalarHaversineKernel implements HaversineKernel {
+
+    @Override
+    public void row(GeoPoints points, int from, int count, double[] out, int offset, double radiusKm) {
+        for (int to = 0; to < count; to++) {
+            out[offset + to] = distance(points, from, to, radiusKm);
+        }
+    }
+
+    static double distance(GeoPoints points, int from, int to, double radiusKm) {
+        double sinHalfDeltaLat = points.sinHalfLatitude()[to] * points.cosHalfLatitude()[from]
+                - points.cosHalfLatitude()[to] * points.sinHalfLatitude()[from];
+        double sinHalfDeltaLon = points.sinHalfLongitude()[to] * points.cosHalfLongitude()[from]
+                - points.cosHalfLongitude()[to] * points.sinHalfLongitude()[from];
+
+        double a = sinHalfDeltaLat * sinHalfDeltaLat
+                + points.cosLatitude()[from] * points.cosLatitude()[to] * sinHalfDeltaLon * sinHalfDeltaLon;
+
+        return 2 * radiusKm * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.delivery.common.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorHaversineKernel implements HaversineKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void row(GeoPoints points, int from, int count, double[] out, int offset, double radiusKm) {
+        double[] sinHalfLat = points.sinHalfLatitude();
+        double[] cosHalfLat = points.cosHalfLatitude();
+        double[] sinHalfLon = points.sinHalfLongitude();
+        double[] cosHalfLon = points.cosHalfLongitude();
+        double[] cosLat = points.cosLatitude();
+
+        double fromSinHalfLat = sinHalfLat[from];
+        double fromCosHalfLat = cosHalfLat[from];
+        double fromSinHalfLon = sinHalfLon[from];
+        double fromCosHalfLon = cosHalfLon[from];
+        double fromCosLat = cosLat[from];
+        double diameter = 2 * radiusKm;
+
+        int bound = SPECIES.loopBound(count);
+        int to = 0;
+        for (; to < bound; to += SPECIES.length()) {
+            DoubleVector sinHalfDeltaLat = DoubleVector.fromArray(SPECIES, sinHalfLat, to)
+                    .mul(fromCosHalfLat)
+                    .sub(DoubleVector.fromArray(SPECIES, cosHalfLat, to).mul(fromSinHalfLat));
+            DoubleVector sinHalfDeltaLon = DoubleVector.fromArray(SPECIES, sinHalfLon, to)
+                    .mul(fromCosHalfLon)
+                    .sub(DoubleVector.fromArray(SPECIES, cosHalfLon, to).mul(fromSinHalfLon));
+
+            DoubleVector a = DoubleVector.fromArray(SPECIES, cosLat, to)
+                    .mul(fromCosLat)
+                    .mul(sinHalfDeltaLon.mul(sinHalfDeltaLon))
+                    .add(sinHalfDeltaLat.mul(sinHalfDeltaLat));
+
+            a.min(1.0)
+                    .sqrt()
+                    .lanewise(VectorOperators.ASIN)
+                    .mul(diameter)
+                    .intoArray(out, offset + to);
+        }
+
+        for (; to < count; to++) {
+            out[offset + to] = ScalarHaversineKernel.distance(points, from, to, radiusKm);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.delivery.common.spatial;
+
+import com.delivery.common.domain.Location;
+import com.delivery.common.util.GeoCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GridSpatialIndexTest {
+    private static final Location CENTER = Location.of(12.9716, 77.5946);
+
+    @Test
+    void nearestWithUnboundedRadiusReturnsEveryMemberInDistanceOrder() {
+        GridSpatialIndex index = new GridSpatialIndex();
+        index.update("near", Location.of(12.98, 77.60));
+        index.update("far", Location.of(-33.87, 151.21));
+        index.update("antipode", Location.of(-12.97, -102.41));
+
+        for (double radiusKm : new double[]{Double.POSITIVE_INFINITY, Double.MAX_VALUE, 1e12}) {
+            List<GridSpatialIndex.Neighbor> neighbors = index.nearest(CENTER, 10, radiusKm);
+            assertThat(neighbors).extracting(GridSpatialIndex.Neighbor::member)
+                    .containsExactly("near", "far", "antipode");
+        }
+    }
+
+    @Test
+    void withinRadiusWithUnboundedRadiusReturnsEveryMember() {
+        GridSpatialIndex index = new GridSpatialIndex();
+        index.update("near", Location.of(12.98, 77.60));
+        index.update("pole", Location.of(89.999, 0));
+        index.update("dateline", Location.of(0, -179.999));
+
+        for (double radiusKm : new double[]{Double.POSITIVE_INFINITY, Double.MAX_VALUE, 1e12}) {
+            assertThat(index.withinRadius(CENTER, radiusKm)).containsExactlyInAnyOrder("near", "pole", "dateline");
+        }
+    }
+
+    @Test
+    void queriesMatchBruteForce() {
+        Random random = new Random(11);
+        GridSpatialIndex index = new GridSpatialIndex();
+        for (int i = 0; i < 500; i++) {
+            index.update("m" + i, Location.of(12.8 + random.nextDouble() * 0.4, 77.4 + random.nextDouble() * 0.4));
+        }
+
+        for (double radiusKm : new double[]{0.5, 2, 10, 50, 20_000}) {
+            List<String> expected = bruteForceWithinRadius(index, radiusKm);
+            assertThat(index.withinRadius(CENTER, radiusKm)).containsExactlyInAnyOrderElementsOf(expected);
+
+            List<GridSpatialIndex.Neighbor> nearest = index.nearest(CENTER, 5, radiusKm);
+            assertThat(nearest).hasSize(Math.min(5, expected.size()));
+            nearest.forEach(neighbor -> assertThat(expected).contains(neighbor.member()));
+        }
+    }
+
+    @Test
+    void withinRadiusReachesCellsAcrossThePole() {
+        Location center = Location.of(86.87, 157.77);
+        GridSpatialIndex index = new GridSpatialIndex(1);
+        for (int i = 0; i < 10_000; i++) {
+            index.update("filler" + i, Location.of(-45 + (i / 100) * 0.9, -45 + (i % 100) * 0.9));
+        }
+        for (int i = 0; i < 8; i++) {
+            index.update("m" + i, Location.of(89, -180 + i * 45));
+        }
+
+        assertThat(index.withinRadius(center, 500)).containsExactlyInAnyOrder(
+                "m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7");
+    }
+
+    @Test
+    void coarseCellQueriesMatchBruteForceNearThePoles() {
+        Random random = new Random(5);
+        for (double cellSizeDegrees : new double[]{1, 5, 7, 30}) {
+            for (int trial = 0; trial < 40; trial++) {
+                GridSpatialIndex index = new GridSpatialIndex(cellSizeDegrees);
+                Map<String, Location> members = new HashMap<>();
+                for (int i = 0; i < 40; i++) {
+                    Location location = Location.of(polarLatitude(random), -180 + random.nextDouble() * 360);
+                    index.update("m" + i, location);
+                    members.put("m" + i, location);
+                }
+                Location center = Location.of(polarLatitude(random), -180 + random.nextDouble() * 360);
+                double radiusKm = 50 + random.nextDouble() * 2_000;
+
+                List<Double> distances = members.values().stream()
+                        .map(location -> GeoCalculator.haversineDistance(center, location))
+                        .filter(distance -> distance <= radiusKm)
+                        .sorted()
+                        .toList();
+                assertThat(index.withinRadius(center, radiusKm)).hasSize(distances.size());
+                assertThat(index.nearest(center, 3, radiusKm))
+                        .extracting(GridSpatialIndex.Neighbor::distanceKm)
+                        .containsExactlyElementsOf(distances.subList(0, Math.min(3, distances.size())));
+            }
+        }
+    }
+
+    private double polarLatitude(Random random) {
+        double latitude = 75 + random.nextDouble() * 15;
+        return random.nextBoolean() ? latitude : -latitude;
+    }
+
+    private List<String> bruteForceWithinRadius(GridSpatialIndex index, double radiusKm) {
+        return IntStream.range(0, index.size())
+                .mapToObj(i -> "m" + i)
+                .filter(member -> GeoCalculator.isWithinRadius(CENTER, index.locationOf(member).orElseThrow(), radiusKm))
+                .toList();
+    }
+}
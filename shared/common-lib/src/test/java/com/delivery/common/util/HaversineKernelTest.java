@@ -0,0 +1,115 @@
+package com.delivery.common.util;
+
+import com.delivery.common.domain.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HaversineKernelTest {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double TOLERANCE_KM = 1e-9;
+    private static final double NEAR_ANTIPODAL_KM = 20_000;
+    private static final double ANTIPODAL_TOLERANCE_KM = 1e-3;
+    private static final int[] BATCH_SIZES = {1, 2, 3, 7, 8, 17, 64, 257};
+
+    private final HaversineKernel scalar = new ScalarHaversineKernel();
+    private final HaversineKernel vector = new VectorHaversineKernel();
+
+    @Test
+    void kernelsMatchGeoCalculatorOnRandomPoints() {
+        Random random = new Random(42);
+        for (int size : BATCH_SIZES) {
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                latitudes[i] = random.nextDouble() * 180 - 90;
+                longitudes[i] = random.nextDouble() * 360 - 180;
+            }
+            assertKernelsMatchReference(latitudes, longitudes);
+        }
+    }
+
+    @Test
+    void kernelsMatchGeoCalculatorOnCityScalePoints() {
+        Random random = new Random(7);
+        double[] latitudes = new double[101];
+        double[] longitudes = new double[101];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = 12.9 + random.nextDouble() * 0.2;
+            longitudes[i] = 77.5 + random.nextDouble() * 0.2;
+        }
+        assertKernelsMatchReference(latitudes, longitudes);
+    }
+
+    @Test
+    void kernelsMatchGeoCalculatorOnEdgeCases() {
+        double[] latitudes = {
+                90, -90, 90, 0, 0, 0, 0, 45.5, 45.5, 89.9999, -89.9999, 0, 0, 51.5, 51.5, -33.9, 0
+        };
+        double[] longitudes = {
+                0, 0, 123.4, 180, -180, 179.9999, -179.9999, 10.25, 10.25, 0, 180, 0, 1e-9, -0.0001, 0.0001, 151.2, 90
+        };
+        assertKernelsMatchReference(latitudes, longitudes);
+    }
+
+    @Test
+    void identicalPointsAreZeroDistanceInBothKernels() {
+        double[] latitudes = new double[9];
+        double[] longitudes = new double[9];
+        Arrays.fill(latitudes, 12.9716);
+        Arrays.fill(longitudes, 77.5946);
+        GeoPoints points = GeoPoints.of(latitudes, longitudes);
+
+        double[] scalarRow = new double[latitudes.length];
+        double[] vectorRow = new double[latitudes.length];
+        scalar.row(points, 0, latitudes.length, scalarRow, 0, EARTH_RADIUS_KM);
+        vector.row(points, 0, latitudes.length, vectorRow, 0, EARTH_RADIUS_KM);
+
+        assertThat(scalarRow).containsOnly(0.0);
+        assertThat(vectorRow).containsOnly(0.0);
+    }
+
+    @Test
+    void poleAndAntimeridianDistancesMatchKnownValues() {
+        GeoPoints points = GeoPoints.of(
+                new double[]{90, -90, 0, 0},
+                new double[]{0, 0, 179.9999, -179.9999}
+        );
+        double[] row = new double[4];
+
+        vector.row(points, 0, 4, row, 0, EARTH_RADIUS_KM);
+        assertThat(row[1]).isCloseTo(Math.PI * EARTH_RADIUS_KM, within(1e-6));
+
+        vector.row(points, 2, 4, row, 0, EARTH_RADIUS_KM);
+        assertThat(row[3]).isCloseTo(Math.toRadians(0.0002) * EARTH_RADIUS_KM, within(1e-6));
+    }
+
+    private void assertKernelsMatchReference(double[] latitudes, double[] longitudes) {
+        GeoPoints points = GeoPoints.of(latitudes, longitudes);
+        int size = points.size();
+        double[] expected = new double[size];
+        double[] actual = new double[size];
+        for (int from = 0; from < size; from++) {
+            scalar.row(points, from, size, expected, 0, EARTH_RADIUS_KM);
+            vector.row(points, from, size, actual, 0, EARTH_RADIUS_KM);
+            for (int to = 0; to < size; to++) {
+                double reference = GeoCalculator.haversineDistance(
+                        Location.of(latitudes[from], longitudes[from]), Location.of(latitudes[to], longitudes[to]));
+                double referenceTolerance = reference > NEAR_ANTIPODAL_KM ? ANTIPODAL_TOLERANCE_KM : TOLERANCE_KM;
+                assertThat(actual[to])
+                        .as("vector vs scalar distance %d -> %d", from, to)
+                        .isCloseTo(expected[to], within(TOLERANCE_KM));
+                assertThat(expected[to])
+                        .as("scalar vs GeoCalculator distance %d -> %d", from, to)
+                        .isCloseTo(reference, within(referenceTolerance));
+                assertThat(actual[to])
+                        .as("vector vs GeoCalculator distance %d -> %d", from, to)
+                        .isCloseTo(reference, within(referenceTolerance));
+            }
+        }
+    }
+}